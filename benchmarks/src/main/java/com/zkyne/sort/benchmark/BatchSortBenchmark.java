@@ -0,0 +1,84 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: BatchSortBenchmark
+ * @Description: 批量排序(sortAll)与逐个调用Arrays.sort的对比，总元素数固定为2^20，按length切成若干个数组或区段
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:00
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSortBenchmark {
+
+    private static final int TOTAL = 1 << 20;
+
+    @Param({"8", "32", "1024"})
+    private int length;
+
+    private int[] source;
+    private int[] data;
+    private int[] offsets;
+    private int[][] arrays;
+
+    @Setup
+    public void setup() {
+        source = Distribution.RANDOM.generate(TOTAL);
+        data = new int[TOTAL];
+        int count = TOTAL / length;
+        offsets = new int[count + 1];
+        arrays = new int[count][length];
+        for (int i = 0; i <= count; i++) {
+            offsets[i] = i * length;
+        }
+    }
+
+    private int[][] copyArrays() {
+        for (int i = 0; i < arrays.length; i++) {
+            System.arraycopy(source, i * length, arrays[i], 0, length);
+        }
+        return arrays;
+    }
+
+    @Benchmark
+    public int[][] jdkSortEach() {
+        int[][] batch = copyArrays();
+        for (int[] arr : batch) {
+            Arrays.sort(arr);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public int[][] sortAllArrays() {
+        int[][] batch = copyArrays();
+        SortUtils.sortAll(batch);
+        return batch;
+    }
+
+    @Benchmark
+    public int[] sortAllSegments() {
+        System.arraycopy(source, 0, data, 0, TOTAL);
+        SortUtils.sortAll(data, offsets);
+        return data;
+    }
+}
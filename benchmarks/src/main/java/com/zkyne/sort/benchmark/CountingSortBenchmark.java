@@ -0,0 +1,80 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.DistinctCounts;
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: CountingSortBenchmark
+ * @Description: 计数排序、去重排序(sortUnique/sortDistinctWithCounts)与Arrays.sort的对比
+ * 计数排序的值域上限为2^24，RANDOM分布的值域是整个int，不参与；其余分布的值域都不超过N
+ * 运行: java -jar target/benchmarks.jar CountingSortBenchmark -prof gc
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:00
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CountingSortBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE", "SAWTOOTH"})
+    private Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup
+    public void setup() {
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    private int[] copy0() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] jdkSort() {
+        int[] arr = copy0();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] countingSort() {
+        int[] arr = copy0();
+        SortUtils.countingSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] sortUnique() {
+        // 不修改输入，不需要拷贝
+        return SortUtils.sortUnique(source);
+    }
+
+    @Benchmark
+    public DistinctCounts sortDistinctWithCounts() {
+        return SortUtils.sortDistinctWithCounts(source);
+    }
+}
@@ -0,0 +1,94 @@
+package com.zkyne.sort.benchmark;
+
+import java.util.Random;
+
+/**
+ * @ClassName: Distribution
+ * @Description: 基准测试的输入分布
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:40
+ */
+public enum Distribution {
+
+    /**
+     * 均匀随机
+     */
+    RANDOM {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt();
+            }
+        }
+    },
+    /**
+     * 升序
+     */
+    SORTED {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = i;
+            }
+        }
+    },
+    /**
+     * 降序
+     */
+    REVERSED {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = arr.length - i;
+            }
+        }
+    },
+    /**
+     * 只有16个不同的值
+     */
+    FEW_UNIQUE {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt(16);
+            }
+        }
+    },
+    /**
+     * 风琴管：前半段升序，后半段降序
+     */
+    ORGAN_PIPE {
+        @Override
+        void fill(int[] arr, Random random) {
+            int half = arr.length / 2;
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = i < half ? i : arr.length - i;
+            }
+        }
+    },
+    /**
+     * 锯齿：长度为1024的升序段重复出现
+     */
+    SAWTOOTH {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = i % 1024;
+            }
+        }
+    };
+
+    abstract void fill(int[] arr, Random random);
+
+    /**
+     * 生成长度为n的数据，种子固定，每次运行的输入相同
+     *
+     * @param n
+     * @return
+     */
+    public int[] generate(int n) {
+        int[] arr = new int[n];
+        fill(arr, new Random(17));
+        return arr;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: QuadraticSortBenchmark
+ * @Description: 选择、冒泡、插入和希尔排序的基准测试
+ * 这几种排序的时间复杂度为O(N^2)(希尔排序约为O(N^1.5))，10^5规模单次排序已需要数秒，
+ * 因此规模上限为10^5，不与SortBenchmark共用10^6以上的参数；以Arrays.sort作为同规模的参照
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuadraticSortBenchmark {
+
+    @Param({"16", "1000", "100000"})
+    private int size;
+
+    @Param
+    private Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup
+    public void setup() {
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    private int[] copy0() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] jdkSort() {
+        int[] arr = copy0();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] selectSort() {
+        int[] arr = copy0();
+        SortUtils.selectSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] bubbleSort() {
+        int[] arr = copy0();
+        SortUtils.bubbleSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] insertSort() {
+        int[] arr = copy0();
+        SortUtils.insertSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] hillSort() {
+        int[] arr = copy0();
+        SortUtils.hillSort(arr);
+        return arr;
+    }
+}
@@ -0,0 +1,77 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: SmallSortBenchmark
+ * @Description: 小数组基础情形的对比：插入排序(原来快速排序的截断长度为10)与排序网络
+ * introSort对不超过32个元素的数组直接使用排序网络，因此用introSort测量排序网络；
+ * 1024组随机数据轮流使用，避免分支预测器记住同一组输入
+ * @Author: zkyne
+ * @Date: 2026/10/17 19:10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmallSortBenchmark {
+
+    private static final int ROUNDS = 1024;
+
+    @Param({"4", "8", "10", "16", "24", "32"})
+    private int size;
+
+    private int[] source;
+    private int[] work;
+    private int round;
+
+    @Setup
+    public void setup() {
+        source = new int[size * ROUNDS];
+        Random random = new Random(17);
+        for (int i = 0; i < source.length; i++) {
+            source[i] = random.nextInt();
+        }
+        work = new int[size];
+    }
+
+    private int[] next() {
+        System.arraycopy(source, (round++ & (ROUNDS - 1)) * size, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] copy() {
+        return next();
+    }
+
+    @Benchmark
+    public int[] insertSort() {
+        int[] arr = next();
+        SortUtils.insertSort(arr, 0, size - 1);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] sortingNetwork() {
+        int[] arr = next();
+        SortUtils.introSort(arr);
+        return arr;
+    }
+}
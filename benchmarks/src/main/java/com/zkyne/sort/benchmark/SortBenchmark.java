@@ -0,0 +1,152 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.SortStrategy;
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: SortBenchmark
+ * @Description: O(NlogN)及线性排序与Arrays.sort/Arrays.parallelSort的对比
+ * 每次调用先把原始数据拷贝到工作数组再排序，copy方法单独测量拷贝的开销作为基线；
+ * 10^8规模需要约1.2GB堆(原始数据、工作数组和合并/基数排序的辅助数组各400MB)；
+ * swiftSort在降序输入上递归深度接近N，10^5以上会栈溢出，放在规模较小的SwiftSortBenchmark中；
+ * 计数排序和去重只适用于值域较小的输入，见CountingSortBenchmark；批量排序见BatchSortBenchmark
+ * 运行: java -jar target/benchmarks.jar SortBenchmark -p size=100000 -prof gc
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class SortBenchmark {
+
+    @Param({"16", "1000", "100000", "10000000", "100000000"})
+    private int size;
+
+    @Param
+    private Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup
+    public void setup() {
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    private int[] copy0() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] copy() {
+        return copy0();
+    }
+
+    @Benchmark
+    public int[] jdkSort() {
+        int[] arr = copy0();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] jdkParallelSort() {
+        int[] arr = copy0();
+        Arrays.parallelSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] sort() {
+        int[] arr = copy0();
+        SortUtils.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public SortStrategy choose() {
+        // 只读取输入，不需要拷贝
+        return SortUtils.choose(source);
+    }
+
+    @Benchmark
+    public int select() {
+        int[] arr = copy0();
+        return SortUtils.select(arr, size >>> 1);
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        int[] arr = copy0();
+        SortUtils.mergeSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        int[] arr = copy0();
+        SortUtils.introSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] heapSort() {
+        int[] arr = copy0();
+        SortUtils.heapSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] timSort() {
+        int[] arr = copy0();
+        SortUtils.timSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        int[] arr = copy0();
+        SortUtils.radixSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() {
+        int[] arr = copy0();
+        SortUtils.parallelMergeSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] parallelSampleSort() {
+        int[] arr = copy0();
+        SortUtils.parallelSampleSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] parallelRadixSort() {
+        int[] arr = copy0();
+        SortUtils.parallelRadixSort(arr);
+        return arr;
+    }
+}
@@ -0,0 +1,67 @@
+package com.zkyne.sort.benchmark;
+
+import com.zkyne.sort.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: SwiftSortBenchmark
+ * @Description: 快速排序(swiftSort)的基准测试，以内省排序作为同规模的参照
+ * swiftSort没有递归深度限制，降序输入上每次划分只去掉很少的元素，10^5规模就会栈溢出并中止整轮测试，
+ * 因此规模上限为10^4，不放在SortBenchmark中
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:00
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwiftSortBenchmark {
+
+    @Param({"16", "1000", "10000"})
+    private int size;
+
+    @Param
+    private Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup
+    public void setup() {
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    private int[] copy0() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] swiftSort() {
+        int[] arr = copy0();
+        SortUtils.swiftSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        int[] arr = copy0();
+        SortUtils.introSort(arr);
+        return arr;
+    }
+}
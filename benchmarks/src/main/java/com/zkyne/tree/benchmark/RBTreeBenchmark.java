@@ -0,0 +1,99 @@
+package com.zkyne.tree.benchmark;
+
+import com.zkyne.tree.IntRBTree;
+import com.zkyne.tree.RBNode;
+import com.zkyne.tree.RBinaryTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: RBTreeBenchmark
+ * @Description: 泛型红黑树RBinaryTree<Integer>与int键的IntRBTree对比
+ * search*: 随机键查找的延迟，RBinaryTree的探测键预先装箱，只比较树本身；build*: 插入size个随机键，配合-prof gc看每个条目分配的字节数
+ * 运行: java -jar target/benchmarks.jar RBTreeBenchmark -prof gc
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 20:40
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RBTreeBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private int[] keys;
+    private int[] probes;
+    private Integer[] boxedProbes;
+    private int probe;
+    private RBinaryTree<Integer> genericTree;
+    private IntRBTree intTree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+        }
+        probes = new int[PROBES];
+        boxedProbes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = keys[random.nextInt(size)];
+            boxedProbes[i] = probes[i];
+        }
+        genericTree = buildGenericTree();
+        intTree = buildIntTree();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public RBNode<Integer> searchGenericTree() {
+        return genericTree.search(boxedProbes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean searchIntTree() {
+        return intTree.contains(probes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RBinaryTree<Integer> buildGenericTree() {
+        RBinaryTree<Integer> tree = new RBinaryTree<>();
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntRBTree buildIntTree() {
+        IntRBTree tree = new IntRBTree();
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+}
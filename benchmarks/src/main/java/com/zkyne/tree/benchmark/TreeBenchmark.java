@@ -0,0 +1,97 @@
+package com.zkyne.tree.benchmark;
+
+import com.zkyne.tree.ArrayBinarySearchTree;
+import com.zkyne.tree.BNode;
+import com.zkyne.tree.BinarySearchTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: TreeBenchmark
+ * @Description: BNode对象存储的平衡二叉查找树与数组存储的ArrayBinarySearchTree对比
+ * find*: 随机键查找的延迟；build*: 插入size个随机键，配合-prof gc时gc.alloc.rate.norm除以size即为每个条目分配的字节数
+ * 运行: java -jar target/benchmarks.jar TreeBenchmark -prof gc
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 19:50
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TreeBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private int[] keys;
+    private int[] probes;
+    private int probe;
+    private BinarySearchTree nodeTree;
+    private ArrayBinarySearchTree arrayTree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+        }
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = keys[random.nextInt(size)];
+        }
+        nodeTree = buildNodeTree();
+        arrayTree = buildArrayTree();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BNode findNodeTree() {
+        return nodeTree.find(probes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int findArrayTree() {
+        return arrayTree.find(probes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BinarySearchTree buildNodeTree() {
+        BinarySearchTree tree = new BinarySearchTree(true);
+        for (int key : keys) {
+            tree.insert(key, key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayBinarySearchTree buildArrayTree() {
+        // 预先给定容量，避免扩容产生的中间数组计入每条目字节数
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree(size);
+        for (int key : keys) {
+            tree.insert(key, key);
+        }
+        return tree;
+    }
+}
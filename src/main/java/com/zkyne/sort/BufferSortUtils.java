@@ -0,0 +1,225 @@
+package com.zkyne.sort;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * @ClassName: BufferSortUtils
+ * @Description: 直接在NIO缓冲区(包括堆外的直接缓冲区和内存映射文件)上原地排序，不需要拷贝到int[]/long[]再拷贝回去
+ * 排序算法与SortUtils.introSort相同：三向切分快速排序，递归过深时改用堆排序，小区间用插入排序
+ * @Author: zkyne
+ * @Date: 2026/10/17 14:10
+ */
+public class BufferSortUtils {
+
+    /**
+     * 子序列长度小于该值时改用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * 把ByteBuffer中position到limit之间的字节按指定字节序解释为int并原地排序，不改变缓冲区的position、limit和字节序
+     *
+     * @param buffer
+     * @param order
+     */
+    public static void sortInts(ByteBuffer buffer, ByteOrder order) {
+        widthCheck(buffer.remaining(), Integer.BYTES);
+        sort(buffer.duplicate().order(order).asIntBuffer());
+    }
+
+    /**
+     * 把ByteBuffer中position到limit之间的字节按指定字节序解释为long并原地排序，不改变缓冲区的position、limit和字节序
+     *
+     * @param buffer
+     * @param order
+     */
+    public static void sortLongs(ByteBuffer buffer, ByteOrder order) {
+        widthCheck(buffer.remaining(), Long.BYTES);
+        sort(buffer.duplicate().order(order).asLongBuffer());
+    }
+
+    /**
+     * 对IntBuffer中position到limit之间的元素原地排序，不改变position和limit
+     *
+     * @param buffer
+     */
+    public static void sort(IntBuffer buffer) {
+        int lo = buffer.position(), hi = buffer.limit() - 1;
+        if (lo >= hi) return;
+        introSort(buffer, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(IntBuffer b, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(b, lo, hi);
+                return;
+            }
+            int pivot = b.get(medianOf3(b, lo, lo + ((hi - lo) >>> 1), hi));
+            // 三向切分：[lo, lt)小于基准，[lt, i)等于基准，(gt, hi]大于基准
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(b, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(b, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        insertSort(b, lo, hi);
+    }
+
+    private static void insertSort(IntBuffer b, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            int temp = b.get(i + 1);
+            while (temp < b.get(j)) {
+                b.put(j + 1, b.get(j));
+                if (j-- == left) break;
+            }
+            b.put(j + 1, temp);
+        }
+    }
+
+    private static void heapSort(IntBuffer b, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(b, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int t = b.get(lo);
+            b.put(lo, b.get(lo + end));
+            b.put(lo + end, t);
+            siftDown(b, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(IntBuffer b, int base, int i, int size) {
+        int v = b.get(base + i);
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && b.get(base + child + 1) > b.get(base + child)) {
+                child++;
+            }
+            if (v >= b.get(base + child)) break;
+            b.put(base + i, b.get(base + child));
+            i = child;
+        }
+        b.put(base + i, v);
+    }
+
+    private static int medianOf3(IntBuffer b, int lo, int center, int hi) {
+        int a = b.get(lo), c = b.get(center), h = b.get(hi);
+        return (a < c) ? (c < h ? center : a < h ? hi : lo) : (h < c ? center : h < a ? hi : lo);
+    }
+
+    /**
+     * 对LongBuffer中position到limit之间的元素原地排序，不改变position和limit
+     *
+     * @param buffer
+     */
+    public static void sort(LongBuffer buffer) {
+        int lo = buffer.position(), hi = buffer.limit() - 1;
+        if (lo >= hi) return;
+        introSort(buffer, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(LongBuffer b, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(b, lo, hi);
+                return;
+            }
+            long pivot = b.get(medianOf3(b, lo, lo + ((hi - lo) >>> 1), hi));
+            // 三向切分：[lo, lt)小于基准，[lt, i)等于基准，(gt, hi]大于基准
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                long v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(b, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(b, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        insertSort(b, lo, hi);
+    }
+
+    private static void insertSort(LongBuffer b, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            long temp = b.get(i + 1);
+            while (temp < b.get(j)) {
+                b.put(j + 1, b.get(j));
+                if (j-- == left) break;
+            }
+            b.put(j + 1, temp);
+        }
+    }
+
+    private static void heapSort(LongBuffer b, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(b, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            long t = b.get(lo);
+            b.put(lo, b.get(lo + end));
+            b.put(lo + end, t);
+            siftDown(b, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(LongBuffer b, int base, int i, int size) {
+        long v = b.get(base + i);
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && b.get(base + child + 1) > b.get(base + child)) {
+                child++;
+            }
+            if (v >= b.get(base + child)) break;
+            b.put(base + i, b.get(base + child));
+            i = child;
+        }
+        b.put(base + i, v);
+    }
+
+    private static int medianOf3(LongBuffer b, int lo, int center, int hi) {
+        long a = b.get(lo), c = b.get(center), h = b.get(hi);
+        return (a < c) ? (c < h ? center : a < h ? hi : lo) : (h < c ? center : h < a ? hi : lo);
+    }
+
+    private static void widthCheck(int remaining, int width) {
+        if (remaining % width != 0) {
+            throw new IllegalArgumentException("remaining(" + remaining + ") is not a multiple of " + width);
+        }
+    }
+
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
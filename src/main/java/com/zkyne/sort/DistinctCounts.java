@@ -0,0 +1,54 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: DistinctCounts
+ * @Description: SortUtils.sortDistinctWithCounts的结果：升序排列的不同值及每个值出现的次数
+ * @Author: zkyne
+ * @Date: 2026/10/17 18:30
+ */
+public final class DistinctCounts {
+    private final int[] keys;
+    private final int[] counts;
+
+    DistinctCounts(int[] keys, int[] counts) {
+        this.keys = keys;
+        this.counts = counts;
+    }
+
+    /**
+     * 不同值的个数
+     *
+     * @return
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 第i小的不同值
+     *
+     * @param i
+     * @return
+     */
+    public int key(int i) {
+        return keys[i];
+    }
+
+    /**
+     * 第i小的不同值出现的次数
+     *
+     * @param i
+     * @return
+     */
+    public int count(int i) {
+        return counts[i];
+    }
+
+    public int[] getKeys() {
+        return keys;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+}
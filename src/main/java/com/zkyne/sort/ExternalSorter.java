@@ -0,0 +1,377 @@
+package com.zkyne.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @ClassName: ExternalSorter
+ * @Description: 外部排序，用于数据量超过堆内存的定长二进制文件(int或long，大端序，与DataOutputStream一致)
+ * 1. 通过内存映射分段读入输入文件，每段在内存中用基数排序排好后写入临时文件(顺串)
+ * 2. 用败者树对顺串进行多路归并，顺串数量超过归并路数时分多趟归并
+ * @Author: zkyne
+ * @Date: 2026/10/17 10:45
+ */
+public class ExternalSorter {
+
+    /**
+     * 默认内存预算64MB
+     */
+    private static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * 默认归并路数
+     */
+    private static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * 归并时每一路读缓冲的上下限
+     */
+    private static final int MIN_IO_BUFFER = 4 << 10;
+    private static final int MAX_IO_BUFFER = 1 << 20;
+
+    private final long memoryBudget; //排序和归并阶段可使用的内存(字节)
+    private final int runSize; //每个顺串的最大记录数
+    private final int fanIn; //每趟归并的最大路数
+    private final File tempDir; //临时文件目录，为null时使用系统默认临时目录
+
+    public ExternalSorter() {
+        this(DEFAULT_MEMORY_BUDGET, Integer.MAX_VALUE, DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * @param memoryBudget 内存预算(字节)，顺串排序时数据数组和基数排序辅助数组共用这部分内存
+     * @param runSize      每个顺串的最大记录数，实际值不超过内存预算能容纳的记录数
+     * @param fanIn        每趟归并的最大路数
+     * @param tempDir      临时文件目录，为null时使用系统默认临时目录
+     */
+    public ExternalSorter(long memoryBudget, int runSize, int fanIn, File tempDir) {
+        if (memoryBudget < 2 * Long.BYTES) {
+            throw new IllegalArgumentException("memoryBudget(" + memoryBudget + ") < " + 2 * Long.BYTES);
+        }
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize(" + runSize + ") < 1");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn(" + fanIn + ") < 2");
+        }
+        this.memoryBudget = memoryBudget;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * 对int文件排序
+     *
+     * @param input
+     * @param output
+     * @throws IOException
+     */
+    public void sortInts(File input, File output) throws IOException {
+        sort(input, output, Integer.BYTES);
+    }
+
+    /**
+     * 对long文件排序
+     *
+     * @param input
+     * @param output
+     * @throws IOException
+     */
+    public void sortLongs(File input, File output) throws IOException {
+        sort(input, output, Long.BYTES);
+    }
+
+    private void sort(File input, File output, int width) throws IOException {
+        List<File> runs = new ArrayList<>();
+        List<File> previous = runs; //上一趟的顺串，本趟中途失败时其中尚未归并的文件也需要删除
+        try {
+            if (createRuns(input, output, width, runs)) {
+                return;
+            }
+            // 顺串数量超过归并路数时，先分组归并成更长的顺串
+            while (runs.size() > fanIn) {
+                previous = runs;
+                runs = new ArrayList<>();
+                for (int from = 0; from < previous.size(); from += fanIn) {
+                    List<File> group = previous.subList(from, Math.min(from + fanIn, previous.size()));
+                    File merged = createTempFile();
+                    runs.add(merged);
+                    merge(group, merged, width);
+                    for (File run : group) {
+                        Files.deleteIfExists(run.toPath());
+                    }
+                }
+            }
+            merge(runs, output, width);
+        } finally {
+            for (File run : previous) {
+                Files.deleteIfExists(run.toPath());
+            }
+            for (File run : runs) {
+                Files.deleteIfExists(run.toPath());
+            }
+        }
+    }
+
+    /**
+     * 分段读入输入文件，排序后写入临时顺串
+     * 输入只有一段时直接写入输出文件，返回true
+     *
+     * @param input
+     * @param output
+     * @param width
+     * @param runs
+     * @return
+     * @throws IOException
+     */
+    private boolean createRuns(File input, File output, int width, List<File> runs) throws IOException {
+        try (FileChannel in = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size % width != 0) {
+                throw new IOException("file size(" + size + ") is not a multiple of record width(" + width + ")");
+            }
+            long records = size / width;
+            int capacity = (int) Math.min(Math.min(runSize, memoryBudget / (2L * width)), Math.max(records, 1));
+            int[] ints = null, intBuffer = null;
+            long[] longs = null, longBuffer = null;
+            if (width == Integer.BYTES) {
+                ints = new int[capacity];
+                intBuffer = new int[capacity];
+            } else {
+                longs = new long[capacity];
+                longBuffer = new long[capacity];
+            }
+            long pos = 0;
+            do {
+                int count = (int) Math.min(capacity, (size - pos) / width);
+                MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, pos, (long) count * width);
+                boolean single = pos == 0 && count == records;
+                File run = single ? output : createTempFile();
+                if (!single) {
+                    runs.add(run);
+                }
+                if (ints != null) {
+                    map.asIntBuffer().get(ints, 0, count);
+                    SortUtils.radixSort(ints, 0, count - 1, intBuffer);
+                } else {
+                    map.asLongBuffer().get(longs, 0, count);
+                    SortUtils.radixSort(longs, 0, count - 1, longBuffer);
+                }
+                try (RunWriter writer = new RunWriter(run, width, ioBufferSize(1))) {
+                    for (int i = 0; i < count; i++) {
+                        writer.write(ints != null ? ints[i] : longs[i]);
+                    }
+                }
+                if (single) {
+                    return true;
+                }
+                pos += (long) count * width;
+            } while (pos < size);
+            return false;
+        }
+    }
+
+    /**
+     * 用败者树对多个顺串进行归并
+     *
+     * @param runs
+     * @param output
+     * @param width
+     * @throws IOException
+     */
+    private void merge(List<File> runs, File output, int width) throws IOException {
+        int k = runs.size();
+        int bufferSize = ioBufferSize(k + 1);
+        RunReader[] readers = new RunReader[k];
+        try (RunWriter writer = new RunWriter(output, width, bufferSize)) {
+            LongLoserTree tree = new LongLoserTree(k);
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), width, bufferSize);
+                if (readers[i].hasNext()) {
+                    tree.set(i, readers[i].next());
+                } else {
+                    tree.exhaust(i);
+                }
+            }
+            tree.build();
+            while (!tree.isEmpty()) {
+                writer.write(tree.winnerKey());
+                RunReader reader = readers[tree.winner()];
+                if (reader.hasNext()) {
+                    tree.replaceWinner(reader.next());
+                } else {
+                    tree.exhaustWinner();
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 归并时内存预算平均分给各路读缓冲和写缓冲
+     *
+     * @param buffers
+     * @return
+     */
+    private int ioBufferSize(int buffers) {
+        long size = memoryBudget / buffers;
+        // 按8字节对齐，保证缓冲中只有完整的记录
+        return (int) (Math.max(MIN_IO_BUFFER, Math.min(MAX_IO_BUFFER, size)) & ~(Long.BYTES - 1));
+    }
+
+    private File createTempFile() throws IOException {
+        return File.createTempFile("sort-run-", ".bin", tempDir);
+    }
+
+    /**
+     * 顺序读取顺串文件
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int width;
+        private boolean eof;
+
+        RunReader(File file, int width, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.width = width;
+            buffer.flip();
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= width) {
+                return true;
+            }
+            if (eof) {
+                return false;
+            }
+            buffer.compact();
+            while (buffer.position() < width) {
+                if (channel.read(buffer) < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+            // 尽量读满缓冲，减少系统调用
+            while (!eof && buffer.hasRemaining()) {
+                int n = channel.read(buffer);
+                if (n < 0) {
+                    eof = true;
+                } else if (n == 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= width;
+        }
+
+        long next() {
+            return width == Integer.BYTES ? buffer.getInt() : buffer.getLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 顺序写入顺串文件
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int width;
+
+        RunWriter(File file, int width, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.width = width;
+        }
+
+        void write(long value) throws IOException {
+            if (buffer.remaining() < width) {
+                flush();
+            }
+            if (width == Integer.BYTES) {
+                buffer.putInt((int) value);
+            } else {
+                buffer.putLong(value);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 本地磁盘测试：生成随机数据文件，用很小的内存预算排序，校验输出有序且元素个数一致
+     */
+    public static void main(String[] args) throws IOException {
+        int n = 1_000_000;
+        File input = File.createTempFile("external-sort-in-", ".bin");
+        File output = File.createTempFile("external-sort-out-", ".bin");
+        try {
+            Random random = new Random(17);
+            long sum = 0;
+            try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(n * Integer.BYTES);
+                IntBuffer ints = buffer.asIntBuffer();
+                for (int i = 0; i < n; i++) {
+                    int v = random.nextInt();
+                    sum += v;
+                    ints.put(v);
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            // 每个顺串1万条记录，每趟最多归并8路，需要多趟归并
+            new ExternalSorter(1 << 20, 10_000, 8, null).sortInts(input, output);
+            IntBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output.toPath())).asIntBuffer();
+            long check = 0;
+            boolean ordered = true;
+            for (int i = 0; i < sorted.limit(); i++) {
+                check += sorted.get(i);
+                if (i > 0 && sorted.get(i - 1) > sorted.get(i)) {
+                    ordered = false;
+                }
+            }
+            System.out.println("records: " + sorted.limit() + ", ordered: " + ordered + ", sum match: " + (sum == check));
+        } finally {
+            Files.deleteIfExists(input.toPath());
+            Files.deleteIfExists(output.toPath());
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: IntTimSort
+ * @Description: 自适应自然合并排序(TimSort)，int[]专用
+ * 扫描出输入中已经存在的升序段和严格降序段(降序段原地翻转)，过短的段用插入排序补足到minRun，
+ * 段入栈后按长度约束合并，合并时在一侧连续胜出时切换为倍增查找(galloping)整块拷贝，
+ * 对基本有序的数据接近O(N)
+ * @Author: zkyne
+ * @Date: 2026/10/17 11:30
+ */
+final class IntTimSort {
+
+    /**
+     * 长度小于该值的序列不再分段，直接用插入排序
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * 进入galloping模式的初始阈值
+     */
+    private static final int MIN_GALLOP = 7;
+
+    private final int[] a;
+    private int[] tmp; //合并时暂存较短的段
+    private int minGallop = MIN_GALLOP;
+    private long comparisons; //开启SortMetrics时统计合并和倍增查找中的比较次数
+
+    //待合并的段栈，第i段为a[runBase[i] .. runBase[i] + runLen[i] - 1]
+    private int stackSize = 0;
+    private final int[] runBase;
+    private final int[] runLen;
+
+    private IntTimSort(int[] a, int len) {
+        this.a = a;
+        this.tmp = new int[Math.min(len >>> 1, 256)];
+        if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * tmp.length);
+        // 栈中段长度满足斐波那契式增长，int数组长度范围内49层足够
+        int stackLen = (len < 120 ? 5 : len < 1542 ? 10 : len < 119151 ? 24 : 49);
+        this.runBase = new int[stackLen];
+        this.runLen = new int[stackLen];
+    }
+
+    /**
+     * 对a[lo..hi]排序
+     *
+     * @param a
+     * @param lo
+     * @param hi
+     */
+    static void sort(int[] a, int lo, int hi) {
+        int remaining = hi - lo + 1;
+        if (remaining < 2) return;
+        if (remaining < MIN_MERGE) {
+            countRunAndMakeAscending(a, lo, hi);
+            if (SortMetrics.ENABLED) SortMetrics.comparisons(remaining - 1);
+            SortUtils.insertionSort(a, lo, hi);
+            return;
+        }
+        IntTimSort ts = new IntTimSort(a, remaining);
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRunAndMakeAscending(a, lo, hi) - lo + 1;
+            // 扫描一个段时每个元素与前一个元素比较一次
+            if (SortMetrics.ENABLED) ts.comparisons += runLen;
+            // 自然段过短，用插入排序扩展到min(minRun, remaining)
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                SortUtils.insertionSort(a, lo, lo + force - 1);
+                runLen = force;
+            }
+            ts.pushRun(lo, runLen);
+            ts.mergeCollapse();
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        ts.mergeForceCollapse();
+        if (SortMetrics.ENABLED) SortMetrics.comparisons(ts.comparisons);
+    }
+
+    /**
+     * 从lo开始找出最长的升序段或严格降序段，降序段原地翻转，返回段的最后一个下标
+     * 降序段要求严格递减，保证翻转后不破坏稳定性
+     *
+     * @param a
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int countRunAndMakeAscending(int[] a, int lo, int hi) {
+        if (lo == hi) return lo;
+        int runHi = lo + 1;
+        if (a[runHi] < a[lo]) {
+            while (runHi < hi && a[runHi + 1] < a[runHi]) {
+                runHi++;
+            }
+            reverseRange(a, lo, runHi);
+        } else {
+            while (runHi < hi && a[runHi + 1] >= a[runHi]) {
+                runHi++;
+            }
+        }
+        return runHi;
+    }
+
+    private static void reverseRange(int[] a, int lo, int hi) {
+        while (lo < hi) {
+            int t = a[lo];
+            a[lo++] = a[hi];
+            a[hi--] = t;
+        }
+    }
+
+    /**
+     * 计算最小段长度，使n / minRun接近且不超过2的幂，合并时两侧长度更均衡
+     *
+     * @param n
+     * @return
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    /**
+     * 维持栈中段长度的约束，不满足时合并相邻的段：
+     * 1. runLen[i - 3] > runLen[i - 2] + runLen[i - 1]
+     * 2. runLen[i - 2] > runLen[i - 1]
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) n--;
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * 合并栈中剩余的所有段
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * 合并栈中第i段和第i + 1段
+     *
+     * @param i
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // 第一段中不大于第二段首元素的前缀已经在最终位置上
+        int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) return;
+
+        // 第二段中不小于第一段末元素的后缀已经在最终位置上
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) return;
+
+        // 暂存较短的一段
+        long start = SortMetrics.ENABLED ? SortMetrics.phaseStart() : 0;
+        if (len1 <= len2) {
+            mergeLo(base1, len1, base2, len2);
+        } else {
+            mergeHi(base1, len1, base2, len2);
+        }
+        if (SortMetrics.ENABLED) {
+            // 较短的一段拷贝到tmp一次，两段的元素各写回一次
+            SortMetrics.moves((long) len1 + len2 + Math.min(len1, len2));
+            SortMetrics.phaseEnd(SortStats.Phase.MERGE, start);
+        }
+    }
+
+    /**
+     * 在有序的a[base .. base + len - 1]中查找key的插入位置k，满足a[base + k - 1] < key <= a[base + k]
+     * 从hint开始按1, 3, 7, 15...倍增步长查找区间，再在区间内二分
+     *
+     * @param key
+     * @param a
+     * @param base
+     * @param len
+     * @param hint
+     * @return
+     */
+    private int gallopLeft(int key, int[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (SortMetrics.ENABLED) comparisons++;
+        if (key > a[base + hint]) {
+            // 向右倍增，直到a[base + hint + lastOfs] < key <= a[base + hint + ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (SortMetrics.ENABLED) comparisons++;
+                if (ofs <= 0) ofs = maxOfs; //溢出
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // 向左倍增，直到a[base + hint - ofs] < key <= a[base + hint - lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (SortMetrics.ENABLED) comparisons++;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        // 在(lastOfs, ofs]中二分
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (SortMetrics.ENABLED) comparisons++;
+            if (key > a[base + m]) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 与gallopLeft相同，但相等元素时返回最右的位置，满足a[base + k - 1] <= key < a[base + k]
+     *
+     * @param key
+     * @param a
+     * @param base
+     * @param len
+     * @param hint
+     * @return
+     */
+    private int gallopRight(int key, int[] a, int base, int len, int hint) {
+        int ofs = 1;
+        int lastOfs = 0;
+        if (SortMetrics.ENABLED) comparisons++;
+        if (key < a[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (SortMetrics.ENABLED) comparisons++;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (SortMetrics.ENABLED) comparisons++;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (SortMetrics.ENABLED) comparisons++;
+            if (key < a[base + m]) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 第一段较短：暂存第一段，从左向右合并
+     * 调用前保证第一段首元素大于第二段首元素，第一段末元素大于第二段所有元素
+     *
+     * @param base1
+     * @param len1
+     * @param base2
+     * @param len2
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        int[] a = this.a;
+        int[] tmp = ensureCapacity(len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        System.arraycopy(a, base1, tmp, cursor1, len1);
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; //第一段连续胜出的次数
+            int count2 = 0; //第二段连续胜出的次数
+
+            // 逐个比较，直到某一段连续胜出minGallop次
+            do {
+                if (SortMetrics.ENABLED) comparisons++;
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) break outer;
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // galloping：用倍增查找确定可以整块拷贝的长度，块足够长时保持该模式
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) break outer;
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) break outer;
+
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) break outer;
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; //退出galloping模式，提高再次进入的门槛
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * 第二段较短：暂存第二段，从右向左合并
+     *
+     * @param base1
+     * @param len1
+     * @param base2
+     * @param len2
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        int[] a = this.a;
+        int[] tmp = ensureCapacity(len2);
+        System.arraycopy(a, base2, tmp, 0, len2);
+
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+
+            do {
+                if (SortMetrics.ENABLED) comparisons++;
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) break outer;
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) break outer;
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) break outer;
+
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) break outer;
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2;
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    private int[] ensureCapacity(int minCapacity) {
+        if (tmp.length < minCapacity) {
+            int newSize = Integer.highestOneBit(minCapacity) << 1;
+            if (newSize < 0) {
+                newSize = minCapacity;
+            } else {
+                newSize = Math.min(newSize, a.length >>> 1);
+            }
+            tmp = new int[Math.max(newSize, minCapacity)];
+            if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * tmp.length);
+        }
+        return tmp;
+    }
+}
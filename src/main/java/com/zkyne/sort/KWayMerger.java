@@ -0,0 +1,382 @@
+package com.zkyne.sort;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * @ClassName: KWayMerger
+ * @Description: 多路归并，把多个升序序列一次性归并为一个升序序列
+ * 基于败者树，每输出一个元素只需O(logK)次比较，避免两两归并带来的多趟读写和中间数组
+ * 支持数组片段直接归并到调用方提供的数组、按需取出的延迟迭代器、以及相等元素去重
+ * @Author: zkyne
+ * @Date: 2026/10/17 15:20
+ */
+public class KWayMerger {
+
+    /**
+     * 归并多个升序数组
+     *
+     * @param arrays
+     * @return
+     */
+    public static int[] merge(int[][] arrays) {
+        return merge(arrays, false);
+    }
+
+    /**
+     * 归并多个升序数组
+     *
+     * @param arrays
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static int[] merge(int[][] arrays, boolean distinct) {
+        int k = arrays.length;
+        int[] from = new int[k], to = new int[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            to[i] = arrays[i].length;
+            total += to[i];
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("total length(" + total + ") exceeds array size limit");
+        }
+        int[] out = new int[(int) total];
+        int n = merge(arrays, from, to, distinct, out, 0);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * 归并多个升序数组的片段arrays[i][from[i] .. to[i] - 1]，结果写入调用方提供的out数组
+     *
+     * @param arrays
+     * @param from     每个片段的起始下标(包含)
+     * @param to       每个片段的结束下标(不包含)
+     * @param distinct 为true时相等的元素只输出一次
+     * @param out
+     * @param offset   out中开始写入的位置
+     * @return 写入的元素个数
+     */
+    public static int merge(int[][] arrays, int[] from, int[] to, boolean distinct, int[] out, int offset) {
+        int k = arrays.length;
+        if (from.length != k || to.length != k) {
+            throw new IllegalArgumentException("from/to length must equal arrays.length(" + k + ")");
+        }
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            if (from[i] < 0 || from[i] > to[i] || to[i] > arrays[i].length) {
+                throw new ArrayIndexOutOfBoundsException("slice " + i + ": [" + from[i] + ", " + to[i] + ")");
+            }
+            total += to[i] - from[i];
+        }
+        if (offset < 0 || out.length - offset < total) {
+            throw new IllegalArgumentException("out has no room for " + total + " elements at offset " + offset);
+        }
+        if (k == 0) return 0;
+        int[] pos = from.clone();
+        LongLoserTree tree = new LongLoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (pos[i] < to[i]) {
+                tree.set(i, arrays[i][pos[i]]);
+            } else {
+                tree.exhaust(i);
+            }
+        }
+        tree.build();
+        int w = offset;
+        while (!tree.isEmpty()) {
+            int s = tree.winner();
+            int v = (int) tree.winnerKey();
+            if (!distinct || w == offset || out[w - 1] != v) {
+                out[w++] = v;
+            }
+            if (++pos[s] < to[s]) {
+                tree.replaceWinner(arrays[s][pos[s]]);
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+        return w - offset;
+    }
+
+    /**
+     * 归并多个升序数组
+     *
+     * @param arrays
+     * @return
+     */
+    public static long[] merge(long[][] arrays) {
+        return merge(arrays, false);
+    }
+
+    /**
+     * 归并多个升序数组
+     *
+     * @param arrays
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static long[] merge(long[][] arrays, boolean distinct) {
+        int k = arrays.length;
+        int[] from = new int[k], to = new int[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            to[i] = arrays[i].length;
+            total += to[i];
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("total length(" + total + ") exceeds array size limit");
+        }
+        long[] out = new long[(int) total];
+        int n = merge(arrays, from, to, distinct, out, 0);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * 归并多个升序数组的片段arrays[i][from[i] .. to[i] - 1]，结果写入调用方提供的out数组
+     *
+     * @param arrays
+     * @param from     每个片段的起始下标(包含)
+     * @param to       每个片段的结束下标(不包含)
+     * @param distinct 为true时相等的元素只输出一次
+     * @param out
+     * @param offset   out中开始写入的位置
+     * @return 写入的元素个数
+     */
+    public static int merge(long[][] arrays, int[] from, int[] to, boolean distinct, long[] out, int offset) {
+        int k = arrays.length;
+        if (from.length != k || to.length != k) {
+            throw new IllegalArgumentException("from/to length must equal arrays.length(" + k + ")");
+        }
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            if (from[i] < 0 || from[i] > to[i] || to[i] > arrays[i].length) {
+                throw new ArrayIndexOutOfBoundsException("slice " + i + ": [" + from[i] + ", " + to[i] + ")");
+            }
+            total += to[i] - from[i];
+        }
+        if (offset < 0 || out.length - offset < total) {
+            throw new IllegalArgumentException("out has no room for " + total + " elements at offset " + offset);
+        }
+        if (k == 0) return 0;
+        int[] pos = from.clone();
+        LongLoserTree tree = new LongLoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (pos[i] < to[i]) {
+                tree.set(i, arrays[i][pos[i]]);
+            } else {
+                tree.exhaust(i);
+            }
+        }
+        tree.build();
+        int w = offset;
+        while (!tree.isEmpty()) {
+            int s = tree.winner();
+            long v = tree.winnerKey();
+            if (!distinct || w == offset || out[w - 1] != v) {
+                out[w++] = v;
+            }
+            if (++pos[s] < to[s]) {
+                tree.replaceWinner(arrays[s][pos[s]]);
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+        return w - offset;
+    }
+
+    /**
+     * 延迟归并多个升序数组，按需逐个或批量取出
+     *
+     * @param arrays
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static IntMergeIterator iterator(int[][] arrays, boolean distinct) {
+        PrimitiveIterator.OfInt[] sources = new PrimitiveIterator.OfInt[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            sources[i] = Arrays.stream(arrays[i]).iterator();
+        }
+        return new IntMergeIterator(sources, distinct);
+    }
+
+    /**
+     * 延迟归并多个升序的基本类型迭代器
+     *
+     * @param sources
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static IntMergeIterator iterator(PrimitiveIterator.OfInt[] sources, boolean distinct) {
+        return new IntMergeIterator(sources, distinct);
+    }
+
+    /**
+     * 延迟归并多个升序数组，按需逐个或批量取出
+     *
+     * @param arrays
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static LongMergeIterator iterator(long[][] arrays, boolean distinct) {
+        PrimitiveIterator.OfLong[] sources = new PrimitiveIterator.OfLong[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            sources[i] = Arrays.stream(arrays[i]).iterator();
+        }
+        return new LongMergeIterator(sources, distinct);
+    }
+
+    /**
+     * 延迟归并多个升序的基本类型迭代器
+     *
+     * @param sources
+     * @param distinct 为true时相等的元素只输出一次
+     * @return
+     */
+    public static LongMergeIterator iterator(PrimitiveIterator.OfLong[] sources, boolean distinct) {
+        return new LongMergeIterator(sources, distinct);
+    }
+
+    /**
+     * 多路归并迭代器，每取一个元素只需O(logK)次比较
+     */
+    public static final class IntMergeIterator implements PrimitiveIterator.OfInt {
+        private final PrimitiveIterator.OfInt[] sources;
+        private final LongLoserTree tree;
+        private final boolean distinct;
+
+        private IntMergeIterator(PrimitiveIterator.OfInt[] sources, boolean distinct) {
+            this.sources = sources;
+            this.distinct = distinct;
+            this.tree = new LongLoserTree(Math.max(sources.length, 1));
+            if (sources.length == 0) {
+                tree.exhaust(0);
+            }
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i].hasNext()) {
+                    tree.set(i, sources[i].nextInt());
+                } else {
+                    tree.exhaust(i);
+                }
+            }
+            tree.build();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !tree.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (tree.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            int v = (int) tree.winnerKey();
+            advance();
+            if (distinct) {
+                while (!tree.isEmpty() && tree.winnerKey() == v) {
+                    advance();
+                }
+            }
+            return v;
+        }
+
+        /**
+         * 批量取出最多length个元素写入buffer，返回实际写入的个数，为0表示已经取完
+         *
+         * @param buffer
+         * @param offset
+         * @param length
+         * @return
+         */
+        public int fill(int[] buffer, int offset, int length) {
+            int n = 0;
+            while (n < length && !tree.isEmpty()) {
+                buffer[offset + n++] = nextInt();
+            }
+            return n;
+        }
+
+        private void advance() {
+            PrimitiveIterator.OfInt source = sources[tree.winner()];
+            if (source.hasNext()) {
+                tree.replaceWinner(source.nextInt());
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+    }
+
+    /**
+     * 多路归并迭代器，每取一个元素只需O(logK)次比较
+     */
+    public static final class LongMergeIterator implements PrimitiveIterator.OfLong {
+        private final PrimitiveIterator.OfLong[] sources;
+        private final LongLoserTree tree;
+        private final boolean distinct;
+
+        private LongMergeIterator(PrimitiveIterator.OfLong[] sources, boolean distinct) {
+            this.sources = sources;
+            this.distinct = distinct;
+            this.tree = new LongLoserTree(Math.max(sources.length, 1));
+            if (sources.length == 0) {
+                tree.exhaust(0);
+            }
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i].hasNext()) {
+                    tree.set(i, sources[i].nextLong());
+                } else {
+                    tree.exhaust(i);
+                }
+            }
+            tree.build();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !tree.isEmpty();
+        }
+
+        @Override
+        public long nextLong() {
+            if (tree.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            long v = tree.winnerKey();
+            advance();
+            if (distinct) {
+                while (!tree.isEmpty() && tree.winnerKey() == v) {
+                    advance();
+                }
+            }
+            return v;
+        }
+
+        /**
+         * 批量取出最多length个元素写入buffer，返回实际写入的个数，为0表示已经取完
+         *
+         * @param buffer
+         * @param offset
+         * @param length
+         * @return
+         */
+        public int fill(long[] buffer, int offset, int length) {
+            int n = 0;
+            while (n < length && !tree.isEmpty()) {
+                buffer[offset + n++] = nextLong();
+            }
+            return n;
+        }
+
+        private void advance() {
+            PrimitiveIterator.OfLong source = sources[tree.winner()];
+            if (source.hasNext()) {
+                tree.replaceWinner(source.nextLong());
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+    }
+}
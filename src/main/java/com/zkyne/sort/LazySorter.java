@@ -0,0 +1,127 @@
+package com.zkyne.sort;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * @ClassName: LazySorter
+ * @Description: 延迟排序(增量快速排序)，按升序逐个产出元素，只在需要时才对剩余部分继续划分
+ * 用栈保存已经划分出的基准位置(栈顶最小)，取下一个元素时只划分当前位置到栈顶基准之间的区间，
+ * 已经落在后面区间中的元素不会被处理。取出前k个元素的代价为O(N + klogk)，
+ * 对象保存了划分状态，之后可以从停下的位置继续取，不需要重新排序
+ * @Author: zkyne
+ * @Date: 2026/10/17 16:05
+ */
+public class LazySorter implements PrimitiveIterator.OfInt {
+
+    /**
+     * 区间长度小于该值时直接插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final int[] arr; //原地排序的数组
+    private final int lo; //排序区间的第一个下标
+    private final int hi; //排序区间的最后一个下标
+    private int next; //下一个要产出的元素下标
+    private int sortedEnd; //[next, sortedEnd)中的元素已经在最终位置上
+    private int[] pivots; //基准位置栈，栈底为哨兵hi + 1
+    private int top;
+
+    public LazySorter(int[] arr) {
+        this(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 对arr[lo..hi]延迟排序，数组在迭代过程中被原地修改
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public LazySorter(int[] arr, int lo, int hi) {
+        if (lo < 0 || lo > hi + 1 || hi >= arr.length) {
+            throw new ArrayIndexOutOfBoundsException("[" + lo + ", " + hi + "]");
+        }
+        this.arr = arr;
+        this.lo = lo;
+        this.hi = hi;
+        this.next = lo;
+        this.sortedEnd = lo;
+        this.pivots = new int[32];
+        this.pivots[this.top++] = hi + 1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next <= hi;
+    }
+
+    @Override
+    public int nextInt() {
+        if (next > hi) {
+            throw new NoSuchElementException();
+        }
+        if (next >= sortedEnd) {
+            sortNext();
+        }
+        return arr[next++];
+    }
+
+    /**
+     * 按升序取出最多length个元素写入buffer，返回实际写入的个数，为0表示已经取完
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return
+     */
+    public int fill(int[] buffer, int offset, int length) {
+        int n = 0;
+        while (n < length && next <= hi) {
+            buffer[offset + n++] = nextInt();
+        }
+        return n;
+    }
+
+    /**
+     * 已经产出的元素个数
+     *
+     * @return
+     */
+    public int position() {
+        return next - lo;
+    }
+
+    /**
+     * 不断划分next到栈顶基准之间的区间，直到arr[next]落在最终位置上
+     */
+    private void sortNext() {
+        while (true) {
+            int bound = pivots[top - 1];
+            // next就是栈顶基准，已经在最终位置上
+            if (bound == next) {
+                top--;
+                sortedEnd = next + 1;
+                return;
+            }
+            // 区间足够短，直接排好，之后依次取出即可
+            if (bound - next <= INSERTION_SORT_THRESHOLD) {
+                SortUtils.insertionSort(arr, next, bound - 1);
+                sortedEnd = bound;
+                return;
+            }
+            int p = SortUtils.MedianOf3(arr, next, next + ((bound - 1 - next) >>> 1), bound - 1);
+            SortUtils.swap(arr, next, p);
+            push(SortUtils.partition(arr, next, bound - 1));
+        }
+    }
+
+    private void push(int pivot) {
+        if (top == pivots.length) {
+            int[] grown = new int[top << 1];
+            System.arraycopy(pivots, 0, grown, 0, top);
+            pivots = grown;
+        }
+        pivots[top++] = pivot;
+    }
+}
@@ -0,0 +1,136 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: LongLoserTree
+ * @Description: 败者树，用于多路归并时从k个有序序列的当前元素中选出最小值
+ * 内部节点记录比较中的失败者，tree[0]记录最终胜者；每次取出胜者后只需沿胜者所在叶子到根的路径重新比较，
+ * 代价为O(logK)。键相等时下标小的序列胜出，因此归并是稳定的。int序列可以直接放宽为long使用
+ * @Author: zkyne
+ * @Date: 2026/10/17 10:20
+ */
+final class LongLoserTree {
+    private final int k; //归并路数
+    private final int[] tree; //tree[0]为胜者，tree[1..k-1]为各内部节点上的失败者
+    private final long[] keys; //每一路当前的元素
+    private final boolean[] exhausted; //每一路是否已经取完
+
+    LongLoserTree(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k(" + k + ") < 1");
+        }
+        this.k = k;
+        this.tree = new int[k];
+        this.keys = new long[k];
+        this.exhausted = new boolean[k];
+    }
+
+    /**
+     * 设置第source路的当前元素，build之前调用
+     *
+     * @param source
+     * @param key
+     */
+    void set(int source, long key) {
+        keys[source] = key;
+        exhausted[source] = false;
+    }
+
+    /**
+     * 标记第source路为空，build之前调用
+     *
+     * @param source
+     */
+    void exhaust(int source) {
+        exhausted[source] = true;
+    }
+
+    /**
+     * 所有路的初始元素设置完后构建败者树
+     */
+    void build() {
+        // 叶子节点为k..2k-1，自底向上计算每个内部节点的胜者和败者
+        int[] winners = new int[k];
+        for (int p = k - 1; p >= 1; p--) {
+            int left = p << 1, right = left + 1;
+            int a = left >= k ? left - k : winners[left];
+            int b = right >= k ? right - k : winners[right];
+            if (beats(a, b)) {
+                winners[p] = a;
+                tree[p] = b;
+            } else {
+                winners[p] = b;
+                tree[p] = a;
+            }
+        }
+        tree[0] = k == 1 ? 0 : winners[1];
+    }
+
+    /**
+     * 所有路是否都已经取完
+     *
+     * @return
+     */
+    boolean isEmpty() {
+        return exhausted[tree[0]];
+    }
+
+    /**
+     * 当前最小元素所在的路
+     *
+     * @return
+     */
+    int winner() {
+        return tree[0];
+    }
+
+    /**
+     * 当前最小元素
+     *
+     * @return
+     */
+    long winnerKey() {
+        return keys[tree[0]];
+    }
+
+    /**
+     * 胜者所在的路读入下一个元素后调整败者树
+     *
+     * @param key
+     */
+    void replaceWinner(long key) {
+        int s = tree[0];
+        keys[s] = key;
+        adjust(s);
+    }
+
+    /**
+     * 胜者所在的路已经取完，调整败者树
+     */
+    void exhaustWinner() {
+        int s = tree[0];
+        exhausted[s] = true;
+        adjust(s);
+    }
+
+    /**
+     * 从叶子s向上与路径上记录的败者比较，败者留在节点中，胜者继续向上
+     *
+     * @param s
+     */
+    private void adjust(int s) {
+        for (int p = (s + k) >>> 1; p >= 1; p >>>= 1) {
+            int t = tree[p];
+            if (beats(t, s)) {
+                tree[p] = s;
+                s = t;
+            }
+        }
+        tree[0] = s;
+    }
+
+    private boolean beats(int a, int b) {
+        if (exhausted[a]) return false;
+        if (exhausted[b]) return true;
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
@@ -0,0 +1,227 @@
+package com.zkyne.sort;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * @ClassName: OnlineSorter
+ * @Description: 在线排序，不断追加的int批次随时都能得到整体有序的视图
+ * 每个批次追加时单独排序，作为一个有序段保存；段按长度分层(第t层长度在[fanOut^t, fanOut^(t+1))之间)，
+ * 某一层的段数达到fanOut时把它们多路归并为上一层的一个段，段的数量始终为O(fanOut·logN)。
+ * 读取时只需对现有的段做一次多路归并，不需要整体重新排序。
+ * 段一旦发布就不再修改，读取和后台合并可以并发进行
+ * @Author: zkyne
+ * @Date: 2026/10/17 16:40
+ */
+public class OnlineSorter {
+
+    /**
+     * 默认每层段数达到4个时合并
+     */
+    private static final int DEFAULT_FAN_OUT = 4;
+
+    private final int fanOut;
+    private final Executor executor; //执行合并的线程池，为null时在追加数据的线程中合并
+    private final Object lock = new Object();
+    private volatile int[][] runs = new int[0][]; //当前所有有序段，整体替换，不原地修改
+    private boolean compacting; //是否有合并任务正在执行，受lock保护
+
+    public OnlineSorter() {
+        this(DEFAULT_FAN_OUT, null);
+    }
+
+    /**
+     * @param fanOut   每层段数达到该值时合并
+     * @param executor 执行合并的线程池，为null时在追加数据的线程中合并
+     */
+    public OnlineSorter(int fanOut, Executor executor) {
+        if (fanOut < 2) {
+            throw new IllegalArgumentException("fanOut(" + fanOut + ") < 2");
+        }
+        this.fanOut = fanOut;
+        this.executor = executor;
+    }
+
+    /**
+     * 追加一个批次，异常时的语义见add(int[], int, int)
+     *
+     * @param batch
+     */
+    public void add(int[] batch) {
+        add(batch, 0, batch.length);
+    }
+
+    /**
+     * 追加batch[offset .. offset + length - 1]，数据会被拷贝，调用方之后可以复用batch
+     * 批次在触发合并之前就已经加入，合并抛出异常(例如线程池拒绝任务)时批次仍然保留，调用方不应重试，否则会重复加入
+     *
+     * @param batch
+     * @param offset
+     * @param length
+     * @throws java.util.concurrent.RejectedExecutionException 线程池拒绝合并任务，此时批次已经加入
+     */
+    public void add(int[] batch, int offset, int length) {
+        if (length == 0) return;
+        int[] run = Arrays.copyOfRange(batch, offset, offset + length);
+        SortUtils.introSort(run);
+        synchronized (lock) {
+            int[][] current = runs;
+            int[][] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = run;
+            runs = next;
+        }
+        scheduleCompaction();
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public long size() {
+        long size = 0;
+        for (int[] run : runs) {
+            size += run.length;
+        }
+        return size;
+    }
+
+    /**
+     * 当前有序段的个数
+     *
+     * @return
+     */
+    public int runCount() {
+        return runs.length;
+    }
+
+    /**
+     * 返回当前所有元素的有序拷贝
+     *
+     * @return
+     */
+    public int[] snapshot() {
+        return KWayMerger.merge(runs);
+    }
+
+    /**
+     * 返回当前所有元素的有序迭代器，之后追加的数据不会出现在其中
+     *
+     * @return
+     */
+    public KWayMerger.IntMergeIterator iterator() {
+        return KWayMerger.iterator(runs, false);
+    }
+
+    private void scheduleCompaction() {
+        synchronized (lock) {
+            if (compacting || pickRuns(runs) == null) return;
+            compacting = true;
+        }
+        if (executor == null) {
+            compact();
+            return;
+        }
+        try {
+            executor.execute(this::compact);
+        } catch (RuntimeException e) {
+            //任务没有提交成功，清除标记，下一次追加时重新尝试合并
+            synchronized (lock) {
+                compacting = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 反复选出段数达到fanOut的层进行合并，直到没有需要合并的层
+     * 归并在锁外进行，期间读取方仍使用旧的段，合并完成后整体替换
+     */
+    private void compact() {
+        boolean done = false;
+        try {
+            while (true) {
+                int[][] group;
+                synchronized (lock) {
+                    group = pickRuns(runs);
+                    if (group == null) {
+                        compacting = false;
+                        done = true;
+                        return;
+                    }
+                }
+                int[] merged = KWayMerger.merge(group);
+                synchronized (lock) {
+                    runs = replace(runs, group, merged);
+                }
+            }
+        } finally {
+            if (!done) {
+                synchronized (lock) {
+                    compacting = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 找出段数达到fanOut的最低一层，返回该层的前fanOut个段，没有时返回null
+     *
+     * @param current
+     * @return
+     */
+    private int[][] pickRuns(int[][] current) {
+        int[] counts = new int[Integer.SIZE];
+        int target = -1;
+        for (int[] run : current) {
+            int t = tierOf(run.length);
+            if (++counts[t] >= fanOut && (target < 0 || t < target)) {
+                target = t;
+            }
+        }
+        if (target < 0) return null;
+        int[][] group = new int[fanOut][];
+        for (int i = 0, n = 0; n < fanOut; i++) {
+            if (tierOf(current[i].length) == target) {
+                group[n++] = current[i];
+            }
+        }
+        return group;
+    }
+
+    private int tierOf(int length) {
+        int tier = 0;
+        while (length >= fanOut) {
+            length /= fanOut;
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * 从current中去掉group中的段(按引用比较)，加入合并后的段
+     *
+     * @param current
+     * @param group
+     * @param merged
+     * @return
+     */
+    private static int[][] replace(int[][] current, int[][] group, int[] merged) {
+        int[][] next = new int[current.length - group.length + 1][];
+        int n = 0;
+        for (int[] run : current) {
+            boolean merging = false;
+            for (int[] g : group) {
+                if (g == run) {
+                    merging = true;
+                    break;
+                }
+            }
+            if (!merging) {
+                next[n++] = run;
+            }
+        }
+        next[n] = merged;
+        return next;
+    }
+}
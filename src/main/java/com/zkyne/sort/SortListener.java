@@ -0,0 +1,17 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortListener
+ * @Description: 排序指标监听器，每次最外层排序调用结束时收到本次排序的统计
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:10
+ */
+public interface SortListener {
+
+    /**
+     * 一次排序结束
+     *
+     * @param stats 本次排序的统计，回调返回后不再修改
+     */
+    void onSort(SortStats stats);
+}
@@ -0,0 +1,261 @@
+package com.zkyne.sort;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * @ClassName: SortMetrics
+ * @Description: 排序指标采集，需通过启动参数-Dcom.zkyne.sort.metrics=true开启
+ * ENABLED是static final常量，排序代码中的采集点都写成if (SortMetrics.ENABLED) {...}，
+ * 未开启时JIT把整个分支当作死代码消除，热循环没有任何额外开销。
+ * 统计按线程记录，同一线程中嵌套的排序调用(如内省排序内部的插入排序)计入最外层调用；
+ * 最外层调用结束时通知所有SortListener，并汇总到JMX的com.zkyne.sort:type=SortMetrics
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:10
+ */
+public final class SortMetrics {
+
+    /**
+     * 是否开启指标采集
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("com.zkyne.sort.metrics");
+
+    /**
+     * JMX对象名
+     */
+    public static final String OBJECT_NAME = "com.zkyne.sort:type=SortMetrics";
+
+    private static final ThreadLocal<Frame> FRAME = ThreadLocal.withInitial(Frame::new);
+    private static final List<SortListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final Aggregate AGGREGATE = new Aggregate();
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+
+    private SortMetrics() {
+    }
+
+    public static void addListener(SortListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(SortListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 汇总数据，开启指标时同时注册到平台MBeanServer
+     *
+     * @return
+     */
+    public static SortMetricsMXBean aggregate() {
+        return AGGREGATE;
+    }
+
+    /**
+     * 把汇总数据注册到平台MBeanServer，已注册时忽略
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(AGGREGATE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("register " + OBJECT_NAME + " failed", e);
+        }
+    }
+
+    /**
+     * 开始一次排序调用
+     *
+     * @param algorithm
+     */
+    static void begin(String algorithm) {
+        Frame frame = FRAME.get();
+        if (frame.nesting++ == 0) {
+            frame.stats = new SortStats(algorithm);
+            frame.start = System.nanoTime();
+        }
+    }
+
+    /**
+     * 结束一次排序调用，最外层调用结束时发布统计
+     */
+    static void end() {
+        Frame frame = FRAME.get();
+        if (--frame.nesting == 0) {
+            SortStats stats = frame.stats;
+            frame.stats = null;
+            stats.setTotalNanos(System.nanoTime() - frame.start);
+            AGGREGATE.add(stats);
+            for (SortListener listener : LISTENERS) {
+                listener.onSort(stats);
+            }
+        }
+    }
+
+    /**
+     * 修改当前调用的算法名，只对最外层调用生效，用于选择算法前已经打开调用帧的情况
+     *
+     * @param algorithm
+     */
+    static void algorithm(String algorithm) {
+        Frame frame = FRAME.get();
+        if (frame.nesting == 1) {
+            frame.stats.setAlgorithm(algorithm);
+        }
+    }
+
+    static void comparisons(long n) {
+        SortStats stats = FRAME.get().stats;
+        if (stats != null) {
+            stats.addComparisons(n);
+        }
+    }
+
+    static void moves(long n) {
+        SortStats stats = FRAME.get().stats;
+        if (stats != null) {
+            stats.addMoves(n);
+        }
+    }
+
+    static void depth(int depth) {
+        SortStats stats = FRAME.get().stats;
+        if (stats != null) {
+            stats.depth(depth);
+        }
+    }
+
+    static void allocated(long bytes) {
+        SortStats stats = FRAME.get().stats;
+        if (stats != null) {
+            stats.addAllocated(bytes);
+        }
+    }
+
+    static long phaseStart() {
+        return System.nanoTime();
+    }
+
+    static void phaseEnd(SortStats.Phase phase, long start) {
+        SortStats stats = FRAME.get().stats;
+        if (stats != null) {
+            stats.addPhaseNanos(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 线程当前的排序调用
+     */
+    private static final class Frame {
+        private int nesting;
+        private SortStats stats;
+        private long start;
+    }
+
+    /**
+     * 所有排序调用的汇总
+     */
+    private static final class Aggregate implements SortMetricsMXBean {
+        private final LongAdder sortCount = new LongAdder();
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private final LongAdder bytesAllocated = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] phaseNanos = new LongAdder[SortStats.Phase.values().length];
+
+        Aggregate() {
+            for (int i = 0; i < phaseNanos.length; i++) {
+                phaseNanos[i] = new LongAdder();
+            }
+        }
+
+        void add(SortStats stats) {
+            sortCount.increment();
+            comparisons.add(stats.getComparisons());
+            moves.add(stats.getMoves());
+            maxDepth.accumulateAndGet(stats.getMaxDepth(), Math::max);
+            bytesAllocated.add(stats.getBytesAllocated());
+            totalNanos.add(stats.getTotalNanos());
+            for (SortStats.Phase phase : SortStats.Phase.values()) {
+                phaseNanos[phase.ordinal()].add(stats.getPhaseNanos(phase));
+            }
+        }
+
+        @Override
+        public long getSortCount() {
+            return sortCount.sum();
+        }
+
+        @Override
+        public long getComparisons() {
+            return comparisons.sum();
+        }
+
+        @Override
+        public long getMoves() {
+            return moves.sum();
+        }
+
+        @Override
+        public int getMaxDepth() {
+            return maxDepth.get();
+        }
+
+        @Override
+        public long getBytesAllocated() {
+            return bytesAllocated.sum();
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        @Override
+        public long getPartitionNanos() {
+            return phaseNanos[SortStats.Phase.PARTITION.ordinal()].sum();
+        }
+
+        @Override
+        public long getMergeNanos() {
+            return phaseNanos[SortStats.Phase.MERGE.ordinal()].sum();
+        }
+
+        @Override
+        public long getInsertionNanos() {
+            return phaseNanos[SortStats.Phase.INSERTION.ordinal()].sum();
+        }
+
+        @Override
+        public long getHeapNanos() {
+            return phaseNanos[SortStats.Phase.HEAP.ordinal()].sum();
+        }
+
+        @Override
+        public void reset() {
+            sortCount.reset();
+            comparisons.reset();
+            moves.reset();
+            maxDepth.set(0);
+            bytesAllocated.reset();
+            totalNanos.reset();
+            for (LongAdder adder : phaseNanos) {
+                adder.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortMetricsMXBean
+ * @Description: 排序指标的JMX接口，汇总开启指标以来所有排序调用的统计
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:10
+ */
+public interface SortMetricsMXBean {
+
+    long getSortCount();
+
+    long getComparisons();
+
+    long getMoves();
+
+    int getMaxDepth();
+
+    long getBytesAllocated();
+
+    long getTotalNanos();
+
+    long getPartitionNanos();
+
+    long getMergeNanos();
+
+    long getInsertionNanos();
+
+    long getHeapNanos();
+
+    /**
+     * 清零所有汇总数据
+     */
+    void reset();
+}
@@ -0,0 +1,123 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortPolicy
+ * @Description: SortUtils.sort选择算法时使用的阈值，不可变，通过with方法得到修改了某一项的副本
+ * @Author: zkyne
+ * @Date: 2026/10/17 18:00
+ */
+public final class SortPolicy {
+
+    /**
+     * 默认阈值
+     */
+    public static final SortPolicy DEFAULT = new SortPolicy(47, 32, 1, 1 << 24, 1 << 14, 1 << 20, 256, 0.25);
+
+    private final int insertionThreshold; //长度不超过该值时使用插入排序
+    private final int runLengthThreshold; //平均有序段长度不小于该值时使用TimSort
+    private final int countingRangeRatio; //值域不超过长度的该倍数时使用计数排序
+    private final int maxCountingRange; //计数排序的值域上限，限制计数数组的大小
+    private final int radixThreshold; //长度不小于该值且重复值不多时使用基数排序
+    private final int parallelThreshold; //长度不小于该值且有多个处理器时并行排序
+    private final int sampleSize; //估计不同值比例时的抽样个数
+    private final double duplicateRatio; //抽样中不同值的比例不超过该值时认为重复值较多
+
+    private SortPolicy(int insertionThreshold, int runLengthThreshold, int countingRangeRatio, int maxCountingRange,
+                       int radixThreshold, int parallelThreshold, int sampleSize, double duplicateRatio) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize(" + sampleSize + ") < 1");
+        }
+        this.insertionThreshold = insertionThreshold;
+        this.runLengthThreshold = runLengthThreshold;
+        this.countingRangeRatio = countingRangeRatio;
+        this.maxCountingRange = maxCountingRange;
+        this.radixThreshold = radixThreshold;
+        this.parallelThreshold = parallelThreshold;
+        this.sampleSize = sampleSize;
+        this.duplicateRatio = duplicateRatio;
+    }
+
+    public int getInsertionThreshold() {
+        return insertionThreshold;
+    }
+
+    public int getRunLengthThreshold() {
+        return runLengthThreshold;
+    }
+
+    public int getCountingRangeRatio() {
+        return countingRangeRatio;
+    }
+
+    public int getMaxCountingRange() {
+        return maxCountingRange;
+    }
+
+    public int getRadixThreshold() {
+        return radixThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public double getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    public SortPolicy withInsertionThreshold(int insertionThreshold) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withRunLengthThreshold(int runLengthThreshold) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withCountingRangeRatio(int countingRangeRatio) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withMaxCountingRange(int maxCountingRange) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withRadixThreshold(int radixThreshold) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withParallelThreshold(int parallelThreshold) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withSampleSize(int sampleSize) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    public SortPolicy withDuplicateRatio(double duplicateRatio) {
+        return new SortPolicy(insertionThreshold, runLengthThreshold, countingRangeRatio, maxCountingRange,
+                radixThreshold, parallelThreshold, sampleSize, duplicateRatio);
+    }
+
+    @Override
+    public String toString() {
+        return "SortPolicy{insertionThreshold=" + insertionThreshold
+                + ", runLengthThreshold=" + runLengthThreshold
+                + ", countingRangeRatio=" + countingRangeRatio
+                + ", maxCountingRange=" + maxCountingRange
+                + ", radixThreshold=" + radixThreshold
+                + ", parallelThreshold=" + parallelThreshold
+                + ", sampleSize=" + sampleSize
+                + ", duplicateRatio=" + duplicateRatio + '}';
+    }
+}
@@ -0,0 +1,104 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortStats
+ * @Description: 一次排序调用的统计：比较次数、元素移动次数、划分/递归深度、分配的字节数以及各阶段耗时
+ * @Author: zkyne
+ * @Date: 2026/10/17 17:10
+ */
+public class SortStats {
+
+    /**
+     * 排序的阶段
+     */
+    public enum Phase {
+        PARTITION, //快速排序的划分
+        MERGE, //合并排序的合并
+        INSERTION, //小区间的插入排序或排序网络
+        HEAP //内省排序退化时的堆排序
+    }
+
+    private String algorithm;
+    private long comparisons;
+    private long moves;
+    private int maxDepth;
+    private long bytesAllocated;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long totalNanos;
+
+    SortStats(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getBytesAllocated() {
+        return bytesAllocated;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    void addComparisons(long n) {
+        comparisons += n;
+    }
+
+    void addMoves(long n) {
+        moves += n;
+    }
+
+    void depth(int depth) {
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void addAllocated(long bytes) {
+        bytesAllocated += bytes;
+    }
+
+    void addPhaseNanos(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(algorithm)
+                .append(": comparisons=").append(comparisons)
+                .append(", moves=").append(moves)
+                .append(", maxDepth=").append(maxDepth)
+                .append(", bytesAllocated=").append(bytesAllocated)
+                .append(", totalNanos=").append(totalNanos);
+        for (Phase phase : Phase.values()) {
+            sb.append(", ").append(phase.name().toLowerCase()).append("Nanos=").append(phaseNanos[phase.ordinal()]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortStrategy
+ * @Description: SortUtils.sort根据输入特征选用的排序算法
+ * @Author: zkyne
+ * @Date: 2026/10/17 18:00
+ */
+public enum SortStrategy {
+    /**
+     * 数组很短，插入排序
+     */
+    INSERTION,
+    /**
+     * 值域不大于数组长度(按比例)，计数排序
+     */
+    COUNTING,
+    /**
+     * 基本有序(平均有序段较长)，自然合并排序(TimSort)
+     */
+    TIM_SORT,
+    /**
+     * 重复值较多或数组不够长，内省排序(三向切分)
+     */
+    INTRO_SORT,
+    /**
+     * 值分散且数组较长，基数排序
+     */
+    RADIX,
+    /**
+     * 数组很长且有多个处理器，并行样本排序
+     */
+    PARALLEL
+}
@@ -1,5 +1,13 @@
 package com.zkyne.sort;
 
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
 /**
  * @ClassName: SortUtils
  * @Description: 排序工具类
@@ -8,6 +16,195 @@ package com.zkyne.sort;
  */
 public class SortUtils {
 
+    /**
+     * 子序列长度小于该值时改用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * 并行合并排序默认的任务拆分阈值
+     */
+    private static final int PARALLEL_MERGE_THRESHOLD = 1 << 13;
+
+    /**
+     * 并行样本排序和并行基数排序的最小数组长度，更短的数组直接单线程排序
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    /**
+     * 并行排序时任务数(分块数、桶数)与并行度的比值，任务多于线程时工作窃取可以平衡负载
+     */
+    private static final int PARALLEL_OVERPARTITION = 4;
+
+    /**
+     * 样本排序中每个桶对应的抽样个数
+     */
+    private static final int SAMPLE_OVERSAMPLING = 16;
+
+    /**
+     * 基数排序每趟处理的位数
+     */
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+
+    /**
+     * 基数排序使用的计数数组，按线程缓存，重复调用时不再分配
+     */
+    private static final ThreadLocal<int[]> RADIX_COUNTS = ThreadLocal.withInitial(() -> new int[Long.BYTES * RADIX]);
+
+    /**
+     * 计数排序自动计算值域时允许的最大值域(计数数组64MB)
+     */
+    private static final int COUNTING_SORT_MAX_RANGE = 1 << 24;
+
+    /**
+     * 批量排序时每个并行任务至少处理的数组个数
+     */
+    private static final int BATCH_GRAIN = 256;
+
+    /**
+     * topK的堆初始容量，之后按需扩容到k
+     */
+    private static final int TOP_K_INITIAL_CAPACITY = 64;
+
+    /**
+     * 排序，按SortPolicy.DEFAULT根据输入特征选择算法
+     *
+     * @param arr
+     */
+    public static void sort(int[] arr) {
+        sort(arr, SortPolicy.DEFAULT);
+    }
+
+    /**
+     * 排序，根据输入特征选择算法，选择结果可通过choose方法预先得到，开启SortMetrics时记录为sort(策略名)
+     *
+     * @param arr
+     * @param policy
+     */
+    public static void sort(int[] arr, SortPolicy policy) {
+        // 先打开调用帧，choose中对样本的排序也计入本次调用
+        if (SortMetrics.ENABLED) SortMetrics.begin("sort");
+        try {
+            SortStrategy strategy = choose(arr, policy);
+            if (SortMetrics.ENABLED) SortMetrics.algorithm("sort(" + strategy.name() + ")");
+            switch (strategy) {
+                case INSERTION:
+                    if (arr.length > 1) {
+                        insertionSort(arr, 0, arr.length - 1);
+                    }
+                    break;
+                case COUNTING:
+                    countingSort(arr);
+                    break;
+                case TIM_SORT:
+                    timSort(arr);
+                    break;
+                case RADIX:
+                    radixSort(arr);
+                    break;
+                case PARALLEL:
+                    parallelSampleSort(arr);
+                    break;
+                default:
+                    introSort(arr);
+            }
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 按SortPolicy.DEFAULT选择排序算法
+     *
+     * @param arr
+     * @return
+     */
+    public static SortStrategy choose(int[] arr) {
+        return choose(arr, SortPolicy.DEFAULT);
+    }
+
+    /**
+     * 选择排序算法，依次判断：
+     * 1. 长度不超过插入排序阈值：插入排序
+     * 2. 遍历得到有序段(非降序段或严格降序段)个数、最小值和最大值，整体只有一个有序段：TimSort(线性时间)
+     * 3. 值域不超过长度的countingRangeRatio倍且不超过maxCountingRange(最多2^24)：计数排序
+     * 4. 平均段长达到阈值：TimSort
+     * 5. 长度达到并行阈值且公共ForkJoinPool并行度大于1：并行样本排序
+     * 6. 等距抽样估计不同值的比例，重复值较多：内省排序(三向切分对重复值是线性的)
+     * 7. 长度达到基数排序阈值：基数排序，否则内省排序
+     *
+     * @param arr
+     * @param policy
+     * @return
+     */
+    public static SortStrategy choose(int[] arr, SortPolicy policy) {
+        int n = arr.length;
+        if (n <= policy.getInsertionThreshold()) {
+            return SortStrategy.INSERTION;
+        }
+        int min = arr[0], max = arr[0], runs = 1;
+        for (int i = 1; i < n; ) {
+            // 与TimSort划分有序段的方式相同：严格降序段或非降序段
+            if (arr[i] < arr[i - 1]) {
+                while (++i < n && arr[i] < arr[i - 1]) ;
+            } else {
+                while (++i < n && arr[i] >= arr[i - 1]) ;
+            }
+            if (i < n) {
+                runs++;
+                i++;
+            }
+        }
+        for (int v : arr) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        if (runs == 1) {
+            return SortStrategy.TIM_SORT;
+        }
+        long range = (long) max - min + 1;
+        if (range <= (long) n * policy.getCountingRangeRatio()
+                && range <= Math.min(policy.getMaxCountingRange(), COUNTING_SORT_MAX_RANGE)) {
+            return SortStrategy.COUNTING;
+        }
+        if (n / runs >= policy.getRunLengthThreshold()) {
+            return SortStrategy.TIM_SORT;
+        }
+        if (n >= policy.getParallelThreshold() && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return SortStrategy.PARALLEL;
+        }
+        if (distinctRatio(arr, policy.getSampleSize()) <= policy.getDuplicateRatio()) {
+            return SortStrategy.INTRO_SORT;
+        }
+        return n >= policy.getRadixThreshold() ? SortStrategy.RADIX : SortStrategy.INTRO_SORT;
+    }
+
+    /**
+     * 等距抽取size个元素，返回其中不同值所占的比例
+     *
+     * @param arr
+     * @param size
+     * @return
+     */
+    private static double distinctRatio(int[] arr, int size) {
+        int n = arr.length;
+        size = Math.min(size, n);
+        int[] sample = new int[size];
+        long step = n / size;
+        for (int i = 0; i < size; i++) {
+            sample[i] = arr[(int) (i * step)];
+        }
+        // 不经过公共入口，不单独产生一次排序指标
+        introSort(sample, 0, size - 1, 2 * log2(size), 0);
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (sample[i] != sample[i - 1]) distinct++;
+        }
+        return (double) distinct / size;
+    }
+
     /**
      * 选择排序
      *
@@ -79,14 +276,39 @@ public class SortUtils {
      */
     public static void insertSort(int[] arr, int left, int right) {
         rangeCheck(arr.length, left, right);
+        if (SortMetrics.ENABLED) SortMetrics.begin("insertSort");
+        try {
+            insertionSort(arr, left, right);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 插入排序，供内部调用：不检查下标，也不打开SortMetrics调用帧，比较和移动次数计入调用方所在的帧(没有时忽略)
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    static void insertionSort(int[] arr, int left, int right) {
+        long start = 0, shifts = 0;
+        if (SortMetrics.ENABLED) start = SortMetrics.phaseStart();
         for (int i = left, j = i; i < right; j = ++i) {
             int temp = arr[i + 1];
             while (temp < arr[j]) {
                 arr[j + 1] = arr[j];
+                if (SortMetrics.ENABLED) shifts++;
                 if (j-- == left) break;
             }
             arr[j + 1] = temp;
         }
+        if (SortMetrics.ENABLED) {
+            // 每次后移对应一次比较，每个元素另有一次比较失败(或到达左端)和一次回写
+            SortMetrics.comparisons(shifts + right - left);
+            SortMetrics.moves(shifts + right - left);
+            SortMetrics.phaseEnd(SortStats.Phase.INSERTION, start);
+        }
     }
 
 
@@ -132,120 +354,3586 @@ public class SortUtils {
      */
     public static void mergeSort(int[] arr, int lo, int hi) {
         if (lo >= hi) return;
+        if (SortMetrics.ENABLED) {
+            SortMetrics.begin("mergeSort");
+            SortMetrics.allocated((long) Integer.BYTES * (hi - lo + 1));
+        }
+        try {
+            // 整个排序过程只分配一次辅助数组，避免每次合并都重新分配；辅助数组只覆盖[lo, hi]，按相对lo的下标使用
+            mergeSortRange(arr, new int[hi - lo + 1], lo, hi, 0);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    private static void mergeSortRange(int[] arr, int[] aux, int lo, int hi, int depth) {
+        if (lo >= hi) return;
+        if (SortMetrics.ENABLED) SortMetrics.depth(depth);
+        // 小区间直接用排序网络，int没有稳定性问题
+        if (hi - lo < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, lo, hi);
+            return;
+        }
         int mid = lo + ((hi - lo) >>> 1);//平分数组
         // 递归对左侧元素进行排序
-        mergeSort(arr, lo, mid);
+        mergeSortRange(arr, aux, lo, mid, depth + 1);
         // 递归对右侧元素进行排序
-        mergeSort(arr, mid + 1, hi);
+        mergeSortRange(arr, aux, mid + 1, hi, depth + 1);
+        if (SortMetrics.ENABLED) SortMetrics.comparisons(1);
         // 如果左侧最大小于右侧最小就不用进行合并了
         if (arr[mid] <= arr[mid + 1]) return;
         // 对左右排序好的进行合并
-        merge(arr, lo, mid, hi);//对左右排好的序列进行合并
+        merge(arr, aux, lo, mid, hi);//对左右排好的序列进行合并
     }
 
     /**
-     * 快速排序
+     * 自适应自然合并排序(TimSort)
+     *
      * @param arr
      */
-    public static void swiftSort(int[] arr) {
-        swiftSort(arr, 0, arr.length - 1);
+    public static void timSort(int[] arr) {
+        timSort(arr, 0, arr.length - 1);
     }
 
     /**
-     * 快速排序
+     * 自适应自然合并排序(TimSort)，稳定
+     * 利用输入中已有的升序段和降序段，基本有序的数据接近线性时间
      *
      * @param arr
+     * @param lo
+     * @param hi
      */
-    public static void swiftSort(int[] arr, int lo, int hi) {
-        //如果子序列为1，则直接返回
+    public static void timSort(int[] arr, int lo, int hi) {
         if (lo >= hi) return;
-        // 当元素小于10个的时候采用插入排序算法
-        if (hi - lo <= 9) {
-            insertSort(arr);
-            return;
+        rangeCheck(arr.length, lo, hi);
+        if (SortMetrics.ENABLED) SortMetrics.begin("timSort");
+        try {
+            IntTimSort.sort(arr, lo, hi);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
         }
-        // 采用三平均分区法查找中间数
-        int mid = MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi);
-        swap(arr, lo, mid);
-        //划分，划分完成之后，分为左右序列，左边所有元素小于arr[index]，右边所有元素大于arr[index]
-        int index = partition(arr, lo, hi);
+    }
 
-        //对左右子序列进行排序完成之后，整个序列就有序了
-        //对左边序列进行递归排序
-        swiftSort(arr, lo, index - 1);
-        //对右边序列进行递归排序
-        swiftSort(arr, index + 1, hi);
+    /**
+     * 并行合并排序(使用公共ForkJoinPool)
+     *
+     * @param arr
+     */
+    public static void parallelMergeSort(int[] arr) {
+        parallelMergeSort(arr, PARALLEL_MERGE_THRESHOLD);
     }
 
-    private static int partition(int[] arr, int lo, int hi) {
-        int i = lo, j = hi + 1;
-        while (true) {
-            //从右自左扫描，如果碰到比基准元素arr[lo]大，则该元素已经位于正确的分区，j自减，继续比较j-1
-            //否则，退出循环，准备交换
-            while (arr[--j] > arr[lo]) {
-                //如果扫描到了最左端，退出循环
-                if (j == lo) break;
+    /**
+     * 并行合并排序(使用公共ForkJoinPool)
+     *
+     * @param arr
+     * @param threshold 子序列长度不超过该值时不再拆分任务，直接在当前线程中排序
+     */
+    public static void parallelMergeSort(int[] arr, int threshold) {
+        parallelMergeSort(arr, 0, arr.length - 1, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行合并排序
+     * 整个排序只分配一个辅助数组，每一层递归交替使用原数组和辅助数组作为源和目标，
+     * 合并时直接写入目标数组，省去了把元素拷贝到辅助数组的过程
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param threshold 子序列长度不超过该值时不再拆分任务，直接在当前线程中排序
+     * @param pool
+     */
+    public static void parallelMergeSort(int[] arr, int lo, int hi, int threshold, ForkJoinPool pool) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold(" + threshold + ") < 1");
+        }
+        // 辅助数组与原数组[lo, hi]的内容一致，递归过程中两者轮流作为源数组
+        // 辅助数组只覆盖[lo, hi]，第i个元素在arr中的下标为lo + i，在aux中的下标为i
+        int n = hi - lo + 1;
+        int[] aux = new int[n];
+        System.arraycopy(arr, lo, aux, 0, n);
+        if (hi - lo < threshold || pool.getParallelism() == 1) {
+            mergeSortTo(aux, 0, arr, lo, 0, n - 1);
+        } else {
+            pool.invoke(new MergeSortTask(aux, 0, arr, lo, 0, n - 1, threshold));
+        }
+    }
+
+    /**
+     * 并行样本排序(使用公共ForkJoinPool)
+     *
+     * @param arr
+     */
+    public static void parallelSampleSort(int[] arr) {
+        parallelSampleSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行样本排序
+     * 1. 随机抽样并排序，等距选出分隔元素，把值域划分为若干个桶
+     * 2. 数组分块，各块并行统计每个桶的元素个数，由前缀和得到每块每个桶的写入位置，再并行分配到辅助数组
+     * 3. 各桶互不重叠，并行对每个桶内省排序后拷贝回原数组
+     *
+     * @param arr
+     * @param pool
+     */
+    public static void parallelSampleSort(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        int parallelism = pool.getParallelism();
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism == 1) {
+            introSort(arr);
+            return;
+        }
+        int bucketCount = Math.min(parallelism * PARALLEL_OVERPARTITION, 1 << Byte.SIZE);
+        // 抽样并选出bucketCount - 1个分隔元素
+        int[] sample = new int[bucketCount * SAMPLE_OVERSAMPLING];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = arr[random.nextInt(n)];
+        }
+        introSort(sample, 0, sample.length - 1, 2 * log2(sample.length), 0);
+        int[] splitters = new int[bucketCount - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * SAMPLE_OVERSAMPLING];
+        }
+
+        // 各块并行计算每个元素所属的桶并计数，桶号暂存在byte数组中，分配时不必重新查找
+        int chunks = parallelism * PARALLEL_OVERPARTITION;
+        int chunkLength = (n + chunks - 1) / chunks;
+        byte[] bucketOf = new byte[n];
+        int[][] counts = new int[chunks][bucketCount];
+        parallelFor(pool, chunks, c -> {
+            int[] count = counts[c];
+            for (int i = c * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                int b = upperBound(splitters, arr[i]);
+                bucketOf[i] = (byte) b;
+                count[b]++;
             }
-            //从左至右扫描，如果碰到比基准元素arr[lo]小，则该元素已经位于正确的分区，i自增，继续比较i+1；
-            //否则，退出循环，准备交换
-            while (arr[++i] < arr[lo]) {
-                //如果扫描到了最右端，退出循环
-                if (i == hi) break;
+        });
+        // 按"桶优先、块其次"的顺序求前缀和，得到每块每个桶的写入起点
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int b = 0, sum = 0; b < bucketCount; b++) {
+            bucketStart[b] = sum;
+            for (int c = 0; c < chunks; c++) {
+                int t = counts[c][b];
+                counts[c][b] = sum;
+                sum += t;
             }
-            //如果相遇，退出循环
-            if (i >= j) break;
-            //交换左a[i],a[j]右两个元素，交换完后他们都位于正确的分区
-            swap(arr, i, j);
         }
-        //经过相遇后，最后一次a[i]和a[j]的交换
-        //a[j]比a[lo]小，a[i]比a[lo]大，所以将基准元素与a[j]交换
-        swap(arr, lo, j);
-        //返回扫描相遇的位置点
-        return j;
+        bucketStart[bucketCount] = n;
+        int[] aux = new int[n];
+        parallelFor(pool, chunks, c -> {
+            int[] offset = counts[c];
+            for (int i = c * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                aux[offset[bucketOf[i] & 0xFF]++] = arr[i];
+            }
+        });
+        parallelFor(pool, bucketCount, b -> {
+            int from = bucketStart[b], to = bucketStart[b + 1];
+            if (to - from > 1) {
+                introSort(aux, from, to - 1);
+            }
+            System.arraycopy(aux, from, arr, from, to - from);
+        });
     }
 
     /**
-     * 三平均分区法
+     * 有序数组中第一个大于key的元素下标
+     *
+     * @param arr
+     * @param key
+     * @return
+     */
+    private static int upperBound(int[] arr, int key) {
+        int lo = 0, hi = arr.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * 并行基数排序(使用公共ForkJoinPool)
+     *
+     * @param arr
+     */
+    public static void parallelRadixSort(int[] arr) {
+        parallelRadixSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行基数排序(LSD，每趟按8位分配)
+     * 每一趟中各块并行统计本块的计数，按"数字优先、块其次"求前缀和得到每块每个数字的写入起点，
+     * 再各自并行分配，块之间没有写冲突，也保持了LSD需要的稳定性
      *
      * @param arr
+     * @param pool
+     */
+    public static void parallelRadixSort(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        int parallelism = pool.getParallelism();
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism == 1) {
+            radixSort(arr);
+            return;
+        }
+        int chunks = parallelism * PARALLEL_OVERPARTITION;
+        int chunkLength = (n + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][RADIX];
+        int[] src = arr, dst = new int[n];
+        for (int pass = 0; pass < Integer.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] from = src, to = dst;
+            parallelFor(pool, chunks, c -> {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                for (int i = c * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                    count[((from[i] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++;
+                }
+            });
+            // 所有元素在这一位上的值相同，跳过
+            int first = ((from[0] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK;
+            int same = 0;
+            for (int c = 0; c < chunks; c++) {
+                same += counts[c][first];
+            }
+            if (same == n) continue;
+            for (int d = 0, sum = 0; d < RADIX; d++) {
+                for (int c = 0; c < chunks; c++) {
+                    int t = counts[c][d];
+                    counts[c][d] = sum;
+                    sum += t;
+                }
+            }
+            parallelFor(pool, chunks, c -> {
+                int[] offset = counts[c];
+                for (int i = c * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                    int v = from[i];
+                    to[offset[((v ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++] = v;
+                }
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != arr) {
+            int[] result = src;
+            parallelFor(pool, chunks, c -> {
+                int i = c * chunkLength;
+                System.arraycopy(result, i, arr, i, Math.max(0, Math.min(n, i + chunkLength) - i));
+            });
+        }
+    }
+
+    /**
+     * 在pool中并行执行body(0), body(1), ..., body(count - 1)
+     *
+     * @param pool
+     * @param count
+     * @param body
+     */
+    private static void parallelFor(ForkJoinPool pool, int count, IntConsumer body) {
+        pool.invoke(new ForEachTask(0, count, body));
+    }
+
+    /**
+     * 把[from, to)二分拆成子任务，由ForkJoinPool工作窃取调度
+     */
+    private static final class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ForEachTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ForEachTask(from, mid, body), new ForEachTask(mid, to, body));
+        }
+    }
+
+    /**
+     * 将src中的第lo..hi个元素排好序写入dst，调用前src和dst在该区间内的元素必须相同
+     * 第i个元素在src中的下标为srcOff + i，在dst中的下标为dstOff + i
+     *
+     * @param src
+     * @param srcOff
+     * @param dst
+     * @param dstOff
      * @param lo
-     * @param center
      * @param hi
-     * @return
      */
-    private static int MedianOf3(int[] arr, int lo, int center, int hi) {
-        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    private static void mergeSortTo(int[] src, int srcOff, int[] dst, int dstOff, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, dstOff + lo, dstOff + hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        // 交换源和目标，把左右两侧分别排好序放到src中
+        mergeSortTo(dst, dstOff, src, srcOff, lo, mid);
+        mergeSortTo(dst, dstOff, src, srcOff, mid + 1, hi);
+        mergeTo(src, srcOff, dst, dstOff, lo, mid, hi);
     }
 
-    public static void print(int[] arr) {
-        for (int i : arr) {
-            System.out.print(i + " ");
+    /**
+     * 将src中已经有序的第lo..mid个与第mid + 1..hi个元素合并到dst中，下标偏移同mergeSortTo
+     *
+     * @param src
+     * @param srcOff
+     * @param dst
+     * @param dstOff
+     * @param lo
+     * @param mid
+     * @param hi
+     */
+    private static void mergeTo(int[] src, int srcOff, int[] dst, int dstOff, int lo, int mid, int hi) {
+        int i = srcOff + lo, leftEnd = srcOff + mid, j = leftEnd + 1, rightEnd = srcOff + hi, k = dstOff + lo;
+        // 左侧最大不大于右侧最小，直接拷贝
+        if (src[leftEnd] <= src[j]) {
+            System.arraycopy(src, i, dst, k, hi - lo + 1);
+            return;
+        }
+        while (i <= leftEnd && j <= rightEnd) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        if (i <= leftEnd) {
+            System.arraycopy(src, i, dst, k, leftEnd - i + 1);
+        } else if (j <= rightEnd) {
+            System.arraycopy(src, j, dst, k, rightEnd - j + 1);
         }
     }
 
-    private static void merge(int[] arr, int lo, int mid, int hi) {
-        int[] aux = new int[arr.length];
-        int i = lo, j = mid + 1;
-        //把元素拷贝到辅助数组中
-        int k = lo;
-        while (k <= hi) {
-            aux[k] = arr[k];
-            k++;
-        }
-        //然后按照规则将数据从辅助数组中拷贝回原始的array中
-        for (k = lo; k <= hi; k++) {
-            //如果左边元素没了， 直接将右边的剩余元素都合并到到原数组中
-            if (i > mid) {
-                arr[k] = aux[j++];
-            }//如果右边元素没有了，直接将所有左边剩余元素都合并到原数组中
-            else if (j > hi) {
-                arr[k] = aux[i++];
-            }//如果左边右边小，则将左边的元素拷贝到原数组中
-            else if (aux[i] < aux[j]) {
-                arr[k] = aux[i++];
+    /**
+     * 并行合并排序任务，左右两侧分别作为子任务执行，完成后合并
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int srcOff;
+        private final int[] dst;
+        private final int dstOff;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+
+        MergeSortTask(int[] src, int srcOff, int[] dst, int dstOff, int lo, int hi, int threshold) {
+            this.src = src;
+            this.srcOff = srcOff;
+            this.dst = dst;
+            this.dstOff = dstOff;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo < threshold) {
+                mergeSortTo(src, srcOff, dst, dstOff, lo, hi);
+                return;
+            }
+            int mid = lo + ((hi - lo) >>> 1);
+            invokeAll(new MergeSortTask(dst, dstOff, src, srcOff, lo, mid, threshold),
+                    new MergeSortTask(dst, dstOff, src, srcOff, mid + 1, hi, threshold));
+            mergeTo(src, srcOff, dst, dstOff, lo, mid, hi);
+        }
+    }
+
+    /**
+     * 批量排序，对每个数组分别排序(使用公共ForkJoinPool)
+     *
+     * @param arrays
+     */
+    public static void sortAll(int[][] arrays) {
+        sortAll(arrays, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量排序，对每个数组分别排序
+     * 数组按个数二分成任务由ForkJoinPool工作窃取调度；不超过32个元素的数组直接使用排序网络，
+     * 较长的数组直接进入内省排序的递归，都不经过公共入口的参数校验和指标采集
+     *
+     * @param arrays
+     * @param pool
+     */
+    public static void sortAll(int[][] arrays, ForkJoinPool pool) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("sortAll");
+        try {
+            if (arrays.length <= BATCH_GRAIN || pool.getParallelism() == 1) {
+                sortSegments(arrays, 0, arrays.length);
             } else {
-                arr[k] = aux[j++];
+                pool.invoke(new BatchSortTask(arrays, null, null, 0, arrays.length));
             }
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 批量排序，data中的第i段为[offsets[i], offsets[i + 1])，对每一段分别排序(使用公共ForkJoinPool)
+     *
+     * @param data
+     * @param offsets
+     */
+    public static void sortAll(int[] data, int[] offsets) {
+        sortAll(data, offsets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量排序，data中的第i段为[offsets[i], offsets[i + 1])，对每一段分别排序
+     * offsets必须非递减且都在[0, data.length]之间，否则抛出IllegalArgumentException
+     *
+     * @param data
+     * @param offsets
+     * @param pool
+     */
+    public static void sortAll(int[] data, int[] offsets, ForkJoinPool pool) {
+        int segments = offsets.length - 1;
+        for (int i = 0; i <= segments; i++) {
+            if (offsets[i] < 0 || offsets[i] > data.length || (i > 0 && offsets[i] < offsets[i - 1])) {
+                throw new IllegalArgumentException("offsets[" + i + "](" + offsets[i] + ") out of order or range");
+            }
+        }
+        if (segments <= 0) return;
+        if (SortMetrics.ENABLED) SortMetrics.begin("sortAll");
+        try {
+            if (segments <= BATCH_GRAIN || pool.getParallelism() == 1) {
+                sortSegments(data, offsets, 0, segments);
+            } else {
+                pool.invoke(new BatchSortTask(null, data, offsets, 0, segments));
+            }
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    private static void sortSegments(int[][] arrays, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int[] arr = arrays[i];
+            sortSegment(arr, 0, arr.length - 1);
+        }
+    }
+
+    private static void sortSegments(int[] data, int[] offsets, int from, int to) {
+        for (int i = from; i < to; i++) {
+            sortSegment(data, offsets[i], offsets[i + 1] - 1);
+        }
+    }
+
+    /**
+     * 批量排序中对单个数组(或数组的一段)排序，调用方保证下标合法
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    private static void sortSegment(int[] arr, int lo, int hi) {
+        if (hi - lo < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, lo, hi);
+        } else {
+            introSort(arr, lo, hi, 2 * log2(hi - lo + 1), 0);
+        }
+    }
+
+    /**
+     * 批量排序任务，按数组个数二分，不超过BATCH_GRAIN个时直接排序
+     */
+    private static final class BatchSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] arrays; //sortAll(int[][])时使用
+        private final int[] data; //sortAll(int[], int[])时使用
+        private final int[] offsets;
+        private final int from;
+        private final int to;
+
+        BatchSortTask(int[][] arrays, int[] data, int[] offsets, int from, int to) {
+            this.arrays = arrays;
+            this.data = data;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_GRAIN) {
+                if (arrays != null) {
+                    sortSegments(arrays, from, to);
+                } else {
+                    sortSegments(data, offsets, from, to);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchSortTask(arrays, data, offsets, from, mid),
+                    new BatchSortTask(arrays, data, offsets, mid, to));
+        }
+    }
+
+    /**
+     * 快速排序
+     * @param arr
+     */
+    public static void swiftSort(int[] arr) {
+        if (SortMetrics.ENABLED) SortMetrics.begin("swiftSort");
+        try {
+            swiftSort(arr, 0, arr.length - 1);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 快速排序
+     *
+     * @param arr
+     */
+    public static void swiftSort(int[] arr, int lo, int hi) {
+        //如果子序列为1，则直接返回
+        if (lo >= hi) return;
+        // 元素不超过32个的时候采用排序网络，只对当前子序列排序
+        if (hi - lo < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, lo, hi);
+            return;
+        }
+        // 采用三平均分区法查找中间数
+        int mid = MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi);
+        swap(arr, lo, mid);
+        //划分，划分完成之后，分为左右序列，左边所有元素小于arr[index]，右边所有元素大于arr[index]
+        int index = partition(arr, lo, hi);
+
+        //对左右子序列进行排序完成之后，整个序列就有序了
+        //对左边序列进行递归排序
+        swiftSort(arr, lo, index - 1);
+        //对右边序列进行递归排序
+        swiftSort(arr, index + 1, hi);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(int[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     * 以三平均分区法选取基准元素，采用三向切分(荷兰国旗)，与基准相等的元素不再参与后续递归；
+     * 递归深度超过2·logN时改用堆排序，保证最坏时间复杂度为O(NlogN)；不超过32个元素的小区间使用排序网络收尾
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(int[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        if (SortMetrics.ENABLED) SortMetrics.begin("introSort");
+        try {
+            introSort(arr, lo, hi, 2 * log2(hi - lo + 1), 0);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param depthLimit 剩余的划分深度预算
+     * @param depth      当前的划分深度，仅用于指标采集
+     */
+    private static void introSort(int[] arr, int lo, int hi, int depthLimit, int depth) {
+        while (hi - lo >= SortingNetworks.MAX_SIZE) {
+            // 递归过深，说明基准选择持续不理想，改用堆排序
+            if (depthLimit-- == 0) {
+                long start = SortMetrics.ENABLED ? SortMetrics.phaseStart() : 0;
+                heapSort(arr, lo, hi);
+                if (SortMetrics.ENABLED) SortMetrics.phaseEnd(SortStats.Phase.HEAP, start);
+                return;
+            }
+            long start = 0;
+            if (SortMetrics.ENABLED) {
+                SortMetrics.depth(++depth);
+                start = SortMetrics.phaseStart();
+            }
+            int pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            // 三向切分：[lo, lt)小于基准，[lt, i)等于基准，(gt, hi]大于基准
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (SortMetrics.ENABLED) {
+                // 小于基准的元素比较一次，其余比较两次；小于和大于基准的元素各写两次，另加三平均取中的三次比较
+                SortMetrics.comparisons(2L * (hi - lo + 1) - (lt - lo) + 3);
+                SortMetrics.moves(2L * ((lt - lo) + (hi - gt)));
+                SortMetrics.phaseEnd(SortStats.Phase.PARTITION, start);
+            }
+            // 对较短的一侧递归，较长的一侧继续循环，保证栈深度为O(logN)
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit, depth);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit, depth);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            SortingNetworks.sort(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(int[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(int[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        if (SortMetrics.ENABLED) SortMetrics.begin("heapSort");
+        try {
+            int n = hi - lo + 1;
+            // 自底向上构建大顶堆
+            for (int i = (n >>> 1) - 1; i >= 0; i--) {
+                siftDown(arr, lo, i, n);
+            }
+            // 依次把堆顶(最大值)换到末尾，再调整剩余元素
+            for (int end = n - 1; end > 0; end--) {
+                int t = arr[lo];
+                arr[lo] = arr[lo + end];
+                arr[lo + end] = t;
+                siftDown(arr, lo, 0, end);
+            }
+            if (SortMetrics.ENABLED) SortMetrics.moves(3L * (n - 1));
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 堆的下沉操作，堆从base开始存放，共size个元素
+     *
+     * @param arr
+     * @param base
+     * @param i
+     * @param size
+     */
+    private static void siftDown(int[] arr, int base, int i, int size) {
+        int v = arr[base + i];
+        int child;
+        long levels = 0;
+        while ((child = (i << 1) + 1) < size) {
+            if (SortMetrics.ENABLED) levels++;
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+        if (SortMetrics.ENABLED) {
+            // 每下沉一层最多比较两次、移动一次
+            SortMetrics.comparisons(2 * levels);
+            SortMetrics.moves(levels + 1);
+        }
+    }
+
+    /**
+     * 以2为底的对数(向下取整)
+     *
+     * @param n
+     * @return
+     */
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    /**
+     * 快速选择：返回第k小(从0开始)的元素
+     * 调用后arr[k]即为该元素，arr[0..k - 1]都不大于它，arr[k + 1..]都不小于它
+     *
+     * @param arr
+     * @param k
+     * @return
+     */
+    public static int select(int[] arr, int k) {
+        if (k < 0 || k >= arr.length) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        select(arr, 0, arr.length - 1, k);
+        return arr[k];
+    }
+
+    /**
+     * 内省选择：先以三平均分区法选取基准，划分次数超过2·logN时改用中位数的中位数选取基准，保证最坏O(N)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param k
+     */
+    private static void select(int[] arr, int lo, int hi, int k) {
+        int depthLimit = 2 * log2(hi - lo + 1);
+        while (hi > lo) {
+            if (hi - lo < INSERTION_SORT_THRESHOLD) {
+                insertionSort(arr, lo, hi);
+                return;
+            }
+            int p = depthLimit-- > 0
+                    ? MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)
+                    : medianOfMedians(arr, lo, hi);
+            swap(arr, lo, p);
+            int j = partition(arr, lo, hi);
+            // 只需要在第k个元素所在的一侧继续划分
+            if (j == k) return;
+            if (j > k) {
+                hi = j - 1;
+            } else {
+                lo = j + 1;
+            }
+        }
+    }
+
+    /**
+     * 中位数的中位数：每5个元素一组取中位数，移到区间前部，再递归选出这些中位数的中位数，返回其下标
+     * 以它为基准划分，两侧都至少有约3/10的元素
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int medianOfMedians(int[] arr, int lo, int hi) {
+        if (hi - lo < 5) {
+            insertionSort(arr, lo, hi);
+            return lo + ((hi - lo) >>> 1);
+        }
+        int m = lo;
+        for (int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            insertionSort(arr, g, end);
+            swap(arr, m++, g + ((end - g) >>> 1));
+        }
+        int mid = lo + ((m - 1 - lo) >>> 1);
+        medianOfMediansSelect(arr, lo, m - 1, mid);
+        return mid;
+    }
+
+    private static void medianOfMediansSelect(int[] arr, int lo, int hi, int k) {
+        while (hi > lo) {
+            swap(arr, lo, medianOfMedians(arr, lo, hi));
+            int j = partition(arr, lo, hi);
+            if (j == k) return;
+            if (j > k) {
+                hi = j - 1;
+            } else {
+                lo = j + 1;
+            }
+        }
+    }
+
+    /**
+     * 部分排序：把最小的k个元素按升序放到arr[0..k - 1]，其余元素顺序不定
+     *
+     * @param arr
+     * @param k
+     */
+    public static void partialSort(int[] arr, int k) {
+        if (k < 0 || k > arr.length) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        if (k == 0) return;
+        if (k < arr.length) {
+            select(arr, 0, arr.length - 1, k - 1);
+        }
+        introSort(arr, 0, k - 1);
+    }
+
+    /**
+     * 返回最大的k个元素(降序)，不修改原数组
+     *
+     * @param arr
+     * @param k
+     * @return
+     */
+    public static int[] topK(int[] arr, int k) {
+        // 结果不会超过arr.length个，k很大时堆也只按数组长度分配
+        return topK(Arrays.stream(arr).iterator(), Math.min(k, arr.length));
+    }
+
+    /**
+     * 返回流中最大的k个元素(降序)
+     *
+     * @param stream
+     * @param k
+     * @return
+     */
+    public static int[] topK(IntStream stream, int k) {
+        return topK(stream.iterator(), k);
+    }
+
+    /**
+     * 返回迭代器中最大的k个元素(降序)
+     * 用大小为k的小顶堆保存当前最大的k个元素，堆顶为其中最小的，新元素大于堆顶时替换堆顶，
+     * 只占用O(k)内存，适用于无法全部放入内存的输入；堆按需扩容到k，输入比k短时只占用O(输入长度)
+     *
+     * @param iterator
+     * @param k
+     * @return
+     */
+    public static int[] topK(PrimitiveIterator.OfInt iterator, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k(" + k + ") < 0");
+        }
+        int[] heap = new int[Math.min(k, TOP_K_INITIAL_CAPACITY)];
+        int size = 0;
+        while (k > 0 && iterator.hasNext()) {
+            int v = iterator.nextInt();
+            if (size < k) {
+                if (size == heap.length) {
+                    // 按1.5倍扩容，不超过k
+                    heap = Arrays.copyOf(heap, (int) Math.min(k, size + (size >> 1) + 1L));
+                }
+                // 堆未满，上浮
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heap[parent] <= v) break;
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = v;
+            } else if (v > heap[0]) {
+                heap[0] = v;
+                siftDownMin(heap, 0, size);
+            }
+        }
+        // 依次把堆顶(最小值)换到末尾，得到降序结果
+        for (int end = size - 1; end > 0; end--) {
+            int t = heap[0];
+            heap[0] = heap[end];
+            heap[end] = t;
+            siftDownMin(heap, 0, end);
+        }
+        return size == heap.length ? heap : Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * 小顶堆的下沉操作
+     *
+     * @param heap
+     * @param i
+     * @param size
+     */
+    private static void siftDownMin(int[] heap, int i, int size) {
+        int v = heap[i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (v <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+
+    /**
+     * 计数排序，先遍历得到值域，值域超过2^24时抛出IllegalArgumentException
+     *
+     * @param arr
+     */
+    public static void countingSort(int[] arr) {
+        if (arr.length < 2) return;
+        int min = arr[0], max = arr[0];
+        for (int v : arr) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        countingSort(arr, min, max);
+    }
+
+    /**
+     * 计数排序，arr中的元素都在[min, max]之间，否则抛出IllegalArgumentException；值域超过2^24时抛出IllegalArgumentException
+     *
+     * @param arr
+     * @param min
+     * @param max
+     */
+    public static void countingSort(int[] arr, int min, int max) {
+        if (arr.length < 2) return;
+        int[] histogram = new int[countingRange(min, max)];
+        if (SortMetrics.ENABLED) {
+            SortMetrics.begin("countingSort");
+            SortMetrics.allocated((long) Integer.BYTES * histogram.length);
+        }
+        try {
+            countingSort(arr, min, max, histogram);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 计数排序，使用调用方提供的计数数组，重复调用时不分配内存
+     *
+     * @param arr
+     * @param min
+     * @param max
+     * @param histogram 计数数组，长度不小于max - min + 1，调用前后前max - min + 1个元素都为0
+     */
+    public static void countingSort(int[] arr, int min, int max, int[] histogram) {
+        int range = histogramCheck(min, max, histogram);
+        if (arr.length < 2) return;
+        count(arr, min, range, histogram);
+        int k = 0;
+        for (int d = 0; d < range; d++) {
+            int c = histogram[d];
+            if (c == 0) continue;
+            histogram[d] = 0;
+            Arrays.fill(arr, k, k += c, d + min);
+        }
+        if (SortMetrics.ENABLED) SortMetrics.moves(arr.length);
+    }
+
+    /**
+     * 返回arr中所有不同的值(升序)，arr不变
+     *
+     * @param arr
+     * @return
+     */
+    public static int[] sortUnique(int[] arr) {
+        int n = arr.length;
+        if (n == 0) return new int[0];
+        int min = arr[0], max = arr[0];
+        for (int v : arr) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        if (SortMetrics.ENABLED) SortMetrics.begin("sortUnique");
+        try {
+            if ((long) max - min < Math.max(n, RADIX)) {
+                if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * (n + max - min + 1));
+                int[] out = new int[n];
+                int size = sortUnique(arr, min, max, new int[max - min + 1], out);
+                return Arrays.copyOf(out, size);
+            }
+            // 值域太大时排序拷贝再去重
+            if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * n);
+            int[] sorted = arr.clone();
+            sort(sorted);
+            int size = 1;
+            for (int i = 1; i < n; i++) {
+                if (sorted[i] != sorted[size - 1]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, size);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 把arr中所有不同的值按升序写入out，返回不同值的个数，不分配内存
+     * out可以就是arr，此时去重结果覆盖在arr的前部
+     *
+     * @param arr
+     * @param min
+     * @param max
+     * @param histogram 计数数组，长度不小于max - min + 1，调用前后前max - min + 1个元素都为0
+     * @param out       长度不小于不同值的个数
+     * @return
+     */
+    public static int sortUnique(int[] arr, int min, int max, int[] histogram, int[] out) {
+        int range = histogramCheck(min, max, histogram);
+        count(arr, min, range, histogram);
+        int size = 0;
+        for (int d = 0; d < range; d++) {
+            if (histogram[d] == 0) continue;
+            histogram[d] = 0;
+            out[size++] = d + min;
+        }
+        return size;
+    }
+
+    /**
+     * 一次计数得到arr中所有不同的值(升序)及其出现次数，arr不变
+     *
+     * @param arr
+     * @return
+     */
+    public static DistinctCounts sortDistinctWithCounts(int[] arr) {
+        int n = arr.length;
+        if (n == 0) return new DistinctCounts(new int[0], new int[0]);
+        int min = arr[0], max = arr[0];
+        for (int v : arr) {
+            if (v < min) min = v;
+            else if (v > max) max = v;
+        }
+        int[] keys, counts;
+        int size;
+        if (SortMetrics.ENABLED) SortMetrics.begin("sortDistinctWithCounts");
+        try {
+            if ((long) max - min < Math.max(n, RADIX)) {
+                if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * (2L * n + max - min + 1));
+                keys = new int[n];
+                counts = new int[n];
+                size = sortDistinctWithCounts(arr, min, max, new int[max - min + 1], keys, counts);
+            } else {
+                // 值域太大时排序拷贝再统计相邻的相同值
+                if (SortMetrics.ENABLED) SortMetrics.allocated((long) Integer.BYTES * 2 * n);
+                keys = arr.clone();
+                sort(keys);
+                counts = new int[n];
+                size = 0;
+                for (int i = 0; i < n; i++) {
+                    if (size == 0 || keys[i] != keys[size - 1]) {
+                        keys[size++] = keys[i];
+                    }
+                    counts[size - 1]++;
+                }
+            }
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+        return new DistinctCounts(Arrays.copyOf(keys, size), Arrays.copyOf(counts, size));
+    }
+
+    /**
+     * 一次计数得到arr中所有不同的值(升序)及其出现次数，分别写入keys和counts，返回不同值的个数，不分配内存
+     *
+     * @param arr
+     * @param min
+     * @param max
+     * @param histogram 计数数组，长度不小于max - min + 1，调用前后前max - min + 1个元素都为0
+     * @param keys      长度不小于不同值的个数
+     * @param counts    长度不小于不同值的个数
+     * @return
+     */
+    public static int sortDistinctWithCounts(int[] arr, int min, int max, int[] histogram, int[] keys, int[] counts) {
+        int range = histogramCheck(min, max, histogram);
+        count(arr, min, range, histogram);
+        int size = 0;
+        for (int d = 0; d < range; d++) {
+            int c = histogram[d];
+            if (c == 0) continue;
+            histogram[d] = 0;
+            keys[size] = d + min;
+            counts[size++] = c;
+        }
+        return size;
+    }
+
+    /**
+     * 统计arr中每个值出现的次数，遇到[min, min + range)以外的值时撤销已经计入的次数并抛出IllegalArgumentException，
+     * 保证计数数组仍然全为0
+     *
+     * @param arr
+     * @param min
+     * @param range
+     * @param histogram
+     */
+    private static void count(int[] arr, int min, int range, int[] histogram) {
+        for (int i = 0; i < arr.length; i++) {
+            int d = arr[i] - min;
+            // 无符号比较同时排除了小于min和大于max的值
+            if (Integer.compareUnsigned(d, range) >= 0) {
+                for (int j = 0; j < i; j++) {
+                    histogram[arr[j] - min]--;
+                }
+                throw new IllegalArgumentException("arr[" + i + "](" + arr[i] + ") out of range [" + min + ", "
+                        + (min + range - 1) + "]");
+            }
+            histogram[d]++;
+        }
+    }
+
+    private static int countingRange(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min(" + min + ") > max(" + max + ")");
+        }
+        long range = (long) max - min + 1;
+        if (range > COUNTING_SORT_MAX_RANGE) {
+            throw new IllegalArgumentException("range(" + range + ") > " + COUNTING_SORT_MAX_RANGE);
+        }
+        return (int) range;
+    }
+
+    private static int histogramCheck(int min, int max, int[] histogram) {
+        if (min > max) {
+            throw new IllegalArgumentException("min(" + min + ") > max(" + max + ")");
+        }
+        long range = (long) max - min + 1;
+        if (histogram.length < range) {
+            throw new IllegalArgumentException("histogram.length(" + histogram.length + ") < " + range);
+        }
+        return (int) range;
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     */
+    public static void radixSort(int[] arr) {
+        if (SortMetrics.ENABLED) {
+            SortMetrics.begin("radixSort");
+            SortMetrics.allocated((long) Integer.BYTES * arr.length);
+        }
+        try {
+            radixSort(arr, new int[arr.length]);
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(int[] arr, int[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     * 先一次遍历统计出所有位上的计数，若某一位上所有元素的值都相同则跳过这一趟；
+     * 最高位与符号位异或后参与分配，保证负数排在正数前面
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(int[] arr, int lo, int hi, int[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        if (SortMetrics.ENABLED) SortMetrics.begin("radixSort");
+        try {
+            int[] counts = RADIX_COUNTS.get();
+            Arrays.fill(counts, 0, Integer.BYTES * RADIX, 0);
+            // 一次遍历统计每一位上各个值出现的次数
+            for (int i = lo; i <= hi; i++) {
+                int v = arr[i] ^ Integer.MIN_VALUE;
+                counts[v & RADIX_MASK]++;
+                counts[RADIX + ((v >>> 8) & RADIX_MASK)]++;
+                counts[2 * RADIX + ((v >>> 16) & RADIX_MASK)]++;
+                counts[3 * RADIX + (v >>> 24)]++;
+            }
+            int[] src = arr, dst = buffer;
+            int srcOff = lo, dstOff = 0;
+            for (int pass = 0; pass < Integer.BYTES; pass++) {
+                int shift = pass * RADIX_BITS;
+                int base = pass * RADIX;
+                // 所有元素在这一位上的值相同，分配后顺序不变，跳过
+                if (counts[base + (((src[srcOff] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)] == n) continue;
+                // 计数转换为起始下标
+                for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                    int c = counts[base + d];
+                    counts[base + d] = sum;
+                    sum += c;
+                }
+                for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                    int v = src[i];
+                    dst[counts[base + (((v ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)]++] = v;
+                }
+                if (SortMetrics.ENABLED) SortMetrics.moves(n);
+                int[] t = src;
+                src = dst;
+                dst = t;
+                int o = srcOff;
+                srcOff = dstOff;
+                dstOff = o;
+            }
+            // 奇数趟分配之后结果在辅助数组中，需要拷贝回原数组
+            if (src != arr) {
+                System.arraycopy(src, srcOff, arr, lo, n);
+                if (SortMetrics.ENABLED) SortMetrics.moves(n);
+            }
+        } finally {
+            if (SortMetrics.ENABLED) SortMetrics.end();
+        }
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     */
+    public static void radixSort(long[] arr) {
+        radixSort(arr, new long[arr.length]);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(long[] arr, long[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(long[] arr, int lo, int hi, long[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        int[] counts = RADIX_COUNTS.get();
+        Arrays.fill(counts, 0, Long.BYTES * RADIX, 0);
+        for (int i = lo; i <= hi; i++) {
+            long v = arr[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass * RADIX + (int) ((v >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+        long[] src = arr, dst = buffer;
+        int srcOff = lo, dstOff = 0;
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            if (counts[base + (int) (((src[srcOff] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK)] == n) continue;
+            for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                int c = counts[base + d];
+                counts[base + d] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                long v = src[i];
+                dst[counts[base + (int) (((v ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK)]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOff, arr, lo, n);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     */
+    public static void insertSort(long[] arr) {
+        if (arr.length > 1) {
+            insertSort(arr, 0, arr.length - 1);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    public static void insertSort(long[] arr, int left, int right) {
+        rangeCheck(arr.length, left, right);
+        insertSortRange(arr, left, right);
+    }
+
+    private static void insertSortRange(long[] arr, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            long temp = arr[i + 1];
+            while (temp < arr[j]) {
+                arr[j + 1] = arr[j];
+                if (j-- == left) break;
+            }
+            arr[j + 1] = temp;
+        }
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     */
+    public static void mergeSort(long[] arr) {
+        mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(long[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        // 整个排序过程只分配一次辅助数组，辅助数组只覆盖[lo, hi]，按相对lo的下标使用
+        mergeSort(arr, new long[hi - lo + 1], lo, hi);
+    }
+
+    private static void mergeSort(long[] arr, long[] aux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(arr, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(arr, aux, lo, mid);
+        mergeSort(arr, aux, mid + 1, hi);
+        if (arr[mid] <= arr[mid + 1]) return;
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            arr[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        }
+        // 右侧剩余的元素已经在正确的位置上，只需拷贝左侧剩余元素
+        while (i <= leftEnd) {
+            arr[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(long[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(long[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        introSort(arr, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(long[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(arr, lo, hi);
+                return;
+            }
+            long pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                long v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(long[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(long[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        heapSortRange(arr, lo, hi);
+    }
+
+    private static void heapSortRange(long[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            long t = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = t;
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] arr, int base, int i, int size) {
+        long v = arr[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+    }
+
+    private static int MedianOf3(long[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     */
+    public static void insertSort(double[] arr) {
+        if (arr.length > 1) {
+            insertSort(arr, 0, arr.length - 1);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    public static void insertSort(double[] arr, int left, int right) {
+        rangeCheck(arr.length, left, right);
+        int end = moveNaNsToEnd(arr, left, right);
+        int negativeZeros = clearNegativeZeros(arr, left, end);
+        insertSortRange(arr, left, end);
+        restoreNegativeZeros(arr, left, end, negativeZeros);
+    }
+
+    private static void insertSortRange(double[] arr, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            double temp = arr[i + 1];
+            while (temp < arr[j]) {
+                arr[j + 1] = arr[j];
+                if (j-- == left) break;
+            }
+            arr[j + 1] = temp;
+        }
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     */
+    public static void mergeSort(double[] arr) {
+        mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(double[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        mergeSort(arr, new double[end - lo + 1], lo, end);
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void mergeSort(double[] arr, double[] aux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(arr, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(arr, aux, lo, mid);
+        mergeSort(arr, aux, mid + 1, hi);
+        if (arr[mid] <= arr[mid + 1]) return;
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            arr[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        }
+        // 右侧剩余的元素已经在正确的位置上，只需拷贝左侧剩余元素
+        while (i <= leftEnd) {
+            arr[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(double[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(double[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        introSort(arr, lo, end, 2 * log2(end - lo + 1));
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void introSort(double[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(arr, lo, hi);
+                return;
+            }
+            double pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                double v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(double[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(double[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        heapSortRange(arr, lo, end);
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void heapSortRange(double[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            double t = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = t;
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] arr, int base, int i, int size) {
+        double v = arr[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+    }
+
+    private static int MedianOf3(double[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    /**
+     * 把NaN移到区间末尾，返回最后一个非NaN元素的下标
+     * NaN与任何数比较都为false，排序前先移出，与Arrays.sort一致排在最后
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int moveNaNsToEnd(double[] arr, int lo, int hi) {
+        int end = hi;
+        for (int i = hi; i >= lo; i--) {
+            double v = arr[i];
+            if (v != v) {
+                arr[i] = arr[end];
+                arr[end--] = v;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 把-0.0替换为0.0，返回替换的个数；-0.0与0.0用&lt;比较时相等，排序后再还原到0.0之前
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int clearNegativeZeros(double[] arr, int lo, int hi) {
+        int count = 0;
+        for (int i = lo; i <= hi; i++) {
+            double v = arr[i];
+            if (v == 0.0d && Double.doubleToRawLongBits(v) != 0L) {
+                arr[i] = 0.0d;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 在有序区间中找到第一个0.0，把前count个还原为-0.0
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param count
+     */
+    private static void restoreNegativeZeros(double[] arr, int lo, int hi, int count) {
+        if (count == 0) return;
+        int left = lo, right = hi;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] < 0.0d) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        for (int i = left, end = left + count; i < end; i++) {
+            arr[i] = -0.0d;
+        }
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，排序结果与Arrays.sort一致：-0.0排在0.0之前，NaN排在最后
+     *
+     * @param arr
+     */
+    public static void radixSort(double[] arr) {
+        radixSort(arr, new double[arr.length]);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(double[] arr, double[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(double[] arr, int lo, int hi, double[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        int[] counts = RADIX_COUNTS.get();
+        Arrays.fill(counts, 0, Long.BYTES * RADIX, 0);
+        for (int i = lo; i <= hi; i++) {
+            long key = sortableBits(arr[i]);
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass * RADIX + (int) ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+        double[] src = arr, dst = buffer;
+        int srcOff = lo, dstOff = 0;
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            if (counts[base + (int) ((sortableBits(src[srcOff]) >>> shift) & RADIX_MASK)] == n) continue;
+            for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                int c = counts[base + d];
+                counts[base + d] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                double v = src[i];
+                dst[counts[base + (int) ((sortableBits(v) >>> shift) & RADIX_MASK)]++] = v;
+            }
+            double[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOff, arr, lo, n);
+        }
+    }
+
+    /**
+     * 把浮点数转换为按无符号整数比较时顺序一致的位表示：负数翻转所有位，非负数只翻转符号位，NaN统一为正的NaN
+     *
+     * @param v
+     * @return
+     */
+    private static long sortableBits(double v) {
+        long bits = Double.doubleToLongBits(v);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     */
+    public static void insertSort(float[] arr) {
+        if (arr.length > 1) {
+            insertSort(arr, 0, arr.length - 1);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    public static void insertSort(float[] arr, int left, int right) {
+        rangeCheck(arr.length, left, right);
+        int end = moveNaNsToEnd(arr, left, right);
+        int negativeZeros = clearNegativeZeros(arr, left, end);
+        insertSortRange(arr, left, end);
+        restoreNegativeZeros(arr, left, end, negativeZeros);
+    }
+
+    private static void insertSortRange(float[] arr, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            float temp = arr[i + 1];
+            while (temp < arr[j]) {
+                arr[j + 1] = arr[j];
+                if (j-- == left) break;
+            }
+            arr[j + 1] = temp;
+        }
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     */
+    public static void mergeSort(float[] arr) {
+        mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(float[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        mergeSort(arr, new float[end - lo + 1], lo, end);
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void mergeSort(float[] arr, float[] aux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(arr, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(arr, aux, lo, mid);
+        mergeSort(arr, aux, mid + 1, hi);
+        if (arr[mid] <= arr[mid + 1]) return;
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            arr[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        }
+        // 右侧剩余的元素已经在正确的位置上，只需拷贝左侧剩余元素
+        while (i <= leftEnd) {
+            arr[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(float[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(float[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        introSort(arr, lo, end, 2 * log2(end - lo + 1));
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void introSort(float[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(arr, lo, hi);
+                return;
+            }
+            float pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                float v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(float[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(float[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int end = moveNaNsToEnd(arr, lo, hi);
+        int negativeZeros = clearNegativeZeros(arr, lo, end);
+        heapSortRange(arr, lo, end);
+        restoreNegativeZeros(arr, lo, end, negativeZeros);
+    }
+
+    private static void heapSortRange(float[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            float t = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = t;
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] arr, int base, int i, int size) {
+        float v = arr[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+    }
+
+    private static int MedianOf3(float[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    /**
+     * 把NaN移到区间末尾，返回最后一个非NaN元素的下标
+     * NaN与任何数比较都为false，排序前先移出，与Arrays.sort一致排在最后
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int moveNaNsToEnd(float[] arr, int lo, int hi) {
+        int end = hi;
+        for (int i = hi; i >= lo; i--) {
+            float v = arr[i];
+            if (v != v) {
+                arr[i] = arr[end];
+                arr[end--] = v;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 把-0.0替换为0.0，返回替换的个数；-0.0与0.0用&lt;比较时相等，排序后再还原到0.0之前
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    private static int clearNegativeZeros(float[] arr, int lo, int hi) {
+        int count = 0;
+        for (int i = lo; i <= hi; i++) {
+            float v = arr[i];
+            if (v == 0.0f && Float.floatToRawIntBits(v) != 0) {
+                arr[i] = 0.0f;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 在有序区间中找到第一个0.0，把前count个还原为-0.0
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param count
+     */
+    private static void restoreNegativeZeros(float[] arr, int lo, int hi, int count) {
+        if (count == 0) return;
+        int left = lo, right = hi;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] < 0.0f) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        for (int i = left, end = left + count; i < end; i++) {
+            arr[i] = -0.0f;
+        }
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，排序结果与Arrays.sort一致：-0.0排在0.0之前，NaN排在最后
+     *
+     * @param arr
+     */
+    public static void radixSort(float[] arr) {
+        radixSort(arr, new float[arr.length]);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(float[] arr, float[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(float[] arr, int lo, int hi, float[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        int[] counts = RADIX_COUNTS.get();
+        Arrays.fill(counts, 0, Integer.BYTES * RADIX, 0);
+        for (int i = lo; i <= hi; i++) {
+            int key = sortableBits(arr[i]);
+            for (int pass = 0; pass < Integer.BYTES; pass++) {
+                counts[pass * RADIX + ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+        float[] src = arr, dst = buffer;
+        int srcOff = lo, dstOff = 0;
+        for (int pass = 0; pass < Integer.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            if (counts[base + ((sortableBits(src[srcOff]) >>> shift) & RADIX_MASK)] == n) continue;
+            for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                int c = counts[base + d];
+                counts[base + d] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                float v = src[i];
+                dst[counts[base + ((sortableBits(v) >>> shift) & RADIX_MASK)]++] = v;
+            }
+            float[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOff, arr, lo, n);
+        }
+    }
+
+    /**
+     * 把浮点数转换为按无符号整数比较时顺序一致的位表示：负数翻转所有位，非负数只翻转符号位，NaN统一为正的NaN
+     *
+     * @param v
+     * @return
+     */
+    private static int sortableBits(float v) {
+        int bits = Float.floatToIntBits(v);
+        return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     */
+    public static void insertSort(short[] arr) {
+        if (arr.length > 1) {
+            insertSort(arr, 0, arr.length - 1);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    public static void insertSort(short[] arr, int left, int right) {
+        rangeCheck(arr.length, left, right);
+        insertSortRange(arr, left, right);
+    }
+
+    private static void insertSortRange(short[] arr, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            short temp = arr[i + 1];
+            while (temp < arr[j]) {
+                arr[j + 1] = arr[j];
+                if (j-- == left) break;
+            }
+            arr[j + 1] = temp;
+        }
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     */
+    public static void mergeSort(short[] arr) {
+        mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(short[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        // 整个排序过程只分配一次辅助数组，辅助数组只覆盖[lo, hi]，按相对lo的下标使用
+        mergeSort(arr, new short[hi - lo + 1], lo, hi);
+    }
+
+    private static void mergeSort(short[] arr, short[] aux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(arr, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(arr, aux, lo, mid);
+        mergeSort(arr, aux, mid + 1, hi);
+        if (arr[mid] <= arr[mid + 1]) return;
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            arr[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        }
+        // 右侧剩余的元素已经在正确的位置上，只需拷贝左侧剩余元素
+        while (i <= leftEnd) {
+            arr[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(short[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(short[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        introSort(arr, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(short[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(arr, lo, hi);
+                return;
+            }
+            short pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                short v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(short[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(short[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        heapSortRange(arr, lo, hi);
+    }
+
+    private static void heapSortRange(short[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            short t = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = t;
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(short[] arr, int base, int i, int size) {
+        short v = arr[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+    }
+
+    private static int MedianOf3(short[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     */
+    public static void radixSort(short[] arr) {
+        radixSort(arr, new short[arr.length]);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(short[] arr, short[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(short[] arr, int lo, int hi, short[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        int[] counts = RADIX_COUNTS.get();
+        Arrays.fill(counts, 0, 2 * RADIX, 0);
+        for (int i = lo; i <= hi; i++) {
+            int v = arr[i];
+            int key = ((v & 0xFFFF) ^ 0x8000);
+            counts[key & RADIX_MASK]++;
+            counts[RADIX + (key >>> RADIX_BITS)]++;
+        }
+        short[] src = arr, dst = buffer;
+        int srcOff = lo, dstOff = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            int first = src[srcOff];
+            if (counts[base + ((((first & 0xFFFF) ^ 0x8000) >>> shift) & RADIX_MASK)] == n) continue;
+            for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                int c = counts[base + d];
+                counts[base + d] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                int v = src[i];
+                dst[counts[base + ((((v & 0xFFFF) ^ 0x8000) >>> shift) & RADIX_MASK)]++] = (short) v;
+            }
+            short[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOff, arr, lo, n);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     */
+    public static void insertSort(char[] arr) {
+        if (arr.length > 1) {
+            insertSort(arr, 0, arr.length - 1);
+        }
+    }
+
+    /**
+     * 插入排序
+     *
+     * @param arr
+     * @param left
+     * @param right
+     */
+    public static void insertSort(char[] arr, int left, int right) {
+        rangeCheck(arr.length, left, right);
+        insertSortRange(arr, left, right);
+    }
+
+    private static void insertSortRange(char[] arr, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            char temp = arr[i + 1];
+            while (temp < arr[j]) {
+                arr[j + 1] = arr[j];
+                if (j-- == left) break;
+            }
+            arr[j + 1] = temp;
+        }
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     */
+    public static void mergeSort(char[] arr) {
+        mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 合并排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(char[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        // 整个排序过程只分配一次辅助数组，辅助数组只覆盖[lo, hi]，按相对lo的下标使用
+        mergeSort(arr, new char[hi - lo + 1], lo, hi);
+    }
+
+    private static void mergeSort(char[] arr, char[] aux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(arr, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(arr, aux, lo, mid);
+        mergeSort(arr, aux, mid + 1, hi);
+        if (arr[mid] <= arr[mid + 1]) return;
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            arr[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        }
+        // 右侧剩余的元素已经在正确的位置上，只需拷贝左侧剩余元素
+        while (i <= leftEnd) {
+            arr[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     */
+    public static void introSort(char[] arr) {
+        introSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(char[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        introSort(arr, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(char[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(arr, lo, hi);
+                return;
+            }
+            char pivot = arr[MedianOf3(arr, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                char v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(arr, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(arr, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(arr, lo, hi);
+        }
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     */
+    public static void heapSort(char[] arr) {
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    public static void heapSort(char[] arr, int lo, int hi) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        heapSortRange(arr, lo, hi);
+    }
+
+    private static void heapSortRange(char[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            char t = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = t;
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] arr, int base, int i, int size) {
+        char v = arr[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (v >= arr[base + child]) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = v;
+    }
+
+    private static int MedianOf3(char[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     */
+    public static void radixSort(char[] arr) {
+        radixSort(arr, new char[arr.length]);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)，使用调用方提供的辅助数组，重复调用时不再分配内存
+     *
+     * @param arr
+     * @param buffer 辅助数组，长度不小于arr.length
+     */
+    public static void radixSort(char[] arr, char[] buffer) {
+        radixSort(arr, 0, arr.length - 1, buffer);
+    }
+
+    /**
+     * 基数排序(LSD，每趟按8位分配)
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @param buffer 辅助数组，从下标0开始使用，长度不小于hi - lo + 1
+     */
+    public static void radixSort(char[] arr, int lo, int hi, char[] buffer) {
+        if (lo >= hi) return;
+        rangeCheck(arr.length, lo, hi);
+        int n = hi - lo + 1;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer.length(" + buffer.length + ") < " + n);
+        }
+        int[] counts = RADIX_COUNTS.get();
+        Arrays.fill(counts, 0, 2 * RADIX, 0);
+        for (int i = lo; i <= hi; i++) {
+            int v = arr[i];
+            int key = v;
+            counts[key & RADIX_MASK]++;
+            counts[RADIX + (key >>> RADIX_BITS)]++;
+        }
+        char[] src = arr, dst = buffer;
+        int srcOff = lo, dstOff = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            int first = src[srcOff];
+            if (counts[base + ((first >>> shift) & RADIX_MASK)] == n) continue;
+            for (int d = 0, sum = dstOff; d < RADIX; d++) {
+                int c = counts[base + d];
+                counts[base + d] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                int v = src[i];
+                dst[counts[base + ((v >>> shift) & RADIX_MASK)]++] = (char) v;
+            }
+            char[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOff, arr, lo, n);
+        }
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void mergeSort(int[] keys, double[] values) {
+        mergeSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)，键相等的元素保持原有顺序
+     * 整个排序只为键和值各分配一个辅助数组
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(int[] keys, double[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        // 合并时只暂存左半部分，辅助数组的长度取最外层左半部分的长度，按相对lo的下标使用
+        int auxLength = (hi - lo) / 2 + 1;
+        mergeSort(keys, values, new int[auxLength], new double[auxLength], lo, hi);
+    }
+
+    private static void mergeSort(int[] keys, double[] values, int[] keyAux, double[] valueAux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(keys, values, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(keys, values, keyAux, valueAux, lo, mid);
+        mergeSort(keys, values, keyAux, valueAux, mid + 1, hi);
+        if (keys[mid] <= keys[mid + 1]) return;
+        // 右侧剩余元素本来就在正确位置上，只需暂存左半部分
+        int leftLength = mid - lo + 1;
+        System.arraycopy(keys, lo, keyAux, 0, leftLength);
+        System.arraycopy(values, lo, valueAux, 0, leftLength);
+        int i = 0, j = mid + 1, k = lo;
+        while (i < leftLength && j <= hi) {
+            if (keys[j] < keyAux[i]) {
+                keys[k] = keys[j];
+                values[k++] = values[j++];
+            } else {
+                keys[k] = keyAux[i];
+                values[k++] = valueAux[i++];
+            }
+        }
+        while (i < leftLength) {
+            keys[k] = keyAux[i];
+            values[k++] = valueAux[i++];
+        }
+    }
+
+    private static void insertSortRange(int[] keys, double[] values, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            int key = keys[i + 1];
+            double value = values[i + 1];
+            while (key < keys[j]) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (j-- == left) break;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void introSort(int[] keys, double[] values) {
+        introSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)，不分配额外内存
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(int[] keys, double[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        introSort(keys, values, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(int[] keys, double[] values, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(keys, values, lo, hi);
+                return;
+            }
+            int pivot = keys[MedianOf3(keys, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int k = keys[i];
+                if (k < pivot) {
+                    swap(keys, values, i++, lt++);
+                } else if (k > pivot) {
+                    swap(keys, values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(keys, values, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(keys, values, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(keys, values, lo, hi);
+        }
+    }
+
+    private static void heapSortRange(int[] keys, double[] values, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(keys, values, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, values, lo, lo + end);
+            siftDown(keys, values, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] keys, double[] values, int base, int i, int size) {
+        int key = keys[base + i];
+        double value = values[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && keys[base + child + 1] > keys[base + child]) {
+                child++;
+            }
+            if (key >= keys[base + child]) break;
+            keys[base + i] = keys[base + child];
+            values[base + i] = values[base + child];
+            i = child;
+        }
+        keys[base + i] = key;
+        values[base + i] = value;
+    }
+
+    private static void swap(int[] keys, double[] values, int i, int j) {
+        int k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        double v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void mergeSort(int[] keys, long[] values) {
+        mergeSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)，键相等的元素保持原有顺序
+     * 整个排序只为键和值各分配一个辅助数组
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(int[] keys, long[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        // 合并时只暂存左半部分，辅助数组的长度取最外层左半部分的长度，按相对lo的下标使用
+        int auxLength = (hi - lo) / 2 + 1;
+        mergeSort(keys, values, new int[auxLength], new long[auxLength], lo, hi);
+    }
+
+    private static void mergeSort(int[] keys, long[] values, int[] keyAux, long[] valueAux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(keys, values, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(keys, values, keyAux, valueAux, lo, mid);
+        mergeSort(keys, values, keyAux, valueAux, mid + 1, hi);
+        if (keys[mid] <= keys[mid + 1]) return;
+        // 右侧剩余元素本来就在正确位置上，只需暂存左半部分
+        int leftLength = mid - lo + 1;
+        System.arraycopy(keys, lo, keyAux, 0, leftLength);
+        System.arraycopy(values, lo, valueAux, 0, leftLength);
+        int i = 0, j = mid + 1, k = lo;
+        while (i < leftLength && j <= hi) {
+            if (keys[j] < keyAux[i]) {
+                keys[k] = keys[j];
+                values[k++] = values[j++];
+            } else {
+                keys[k] = keyAux[i];
+                values[k++] = valueAux[i++];
+            }
+        }
+        while (i < leftLength) {
+            keys[k] = keyAux[i];
+            values[k++] = valueAux[i++];
+        }
+    }
+
+    private static void insertSortRange(int[] keys, long[] values, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            int key = keys[i + 1];
+            long value = values[i + 1];
+            while (key < keys[j]) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (j-- == left) break;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void introSort(int[] keys, long[] values) {
+        introSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)，不分配额外内存
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(int[] keys, long[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        introSort(keys, values, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(int[] keys, long[] values, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(keys, values, lo, hi);
+                return;
+            }
+            int pivot = keys[MedianOf3(keys, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int k = keys[i];
+                if (k < pivot) {
+                    swap(keys, values, i++, lt++);
+                } else if (k > pivot) {
+                    swap(keys, values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(keys, values, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(keys, values, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(keys, values, lo, hi);
+        }
+    }
+
+    private static void heapSortRange(int[] keys, long[] values, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(keys, values, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, values, lo, lo + end);
+            siftDown(keys, values, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] keys, long[] values, int base, int i, int size) {
+        int key = keys[base + i];
+        long value = values[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && keys[base + child + 1] > keys[base + child]) {
+                child++;
+            }
+            if (key >= keys[base + child]) break;
+            keys[base + i] = keys[base + child];
+            values[base + i] = values[base + child];
+            i = child;
+        }
+        keys[base + i] = key;
+        values[base + i] = value;
+    }
+
+    private static void swap(int[] keys, long[] values, int i, int j) {
+        int k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        long v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void mergeSort(int[] keys, int[] values) {
+        mergeSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(稳定)，键相等的元素保持原有顺序
+     * 整个排序只为键和值各分配一个辅助数组
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void mergeSort(int[] keys, int[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        // 合并时只暂存左半部分，辅助数组的长度取最外层左半部分的长度，按相对lo的下标使用
+        int auxLength = (hi - lo) / 2 + 1;
+        mergeSort(keys, values, new int[auxLength], new int[auxLength], lo, hi);
+    }
+
+    private static void mergeSort(int[] keys, int[] values, int[] keyAux, int[] valueAux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(keys, values, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(keys, values, keyAux, valueAux, lo, mid);
+        mergeSort(keys, values, keyAux, valueAux, mid + 1, hi);
+        if (keys[mid] <= keys[mid + 1]) return;
+        // 右侧剩余元素本来就在正确位置上，只需暂存左半部分
+        int leftLength = mid - lo + 1;
+        System.arraycopy(keys, lo, keyAux, 0, leftLength);
+        System.arraycopy(values, lo, valueAux, 0, leftLength);
+        int i = 0, j = mid + 1, k = lo;
+        while (i < leftLength && j <= hi) {
+            if (keys[j] < keyAux[i]) {
+                keys[k] = keys[j];
+                values[k++] = values[j++];
+            } else {
+                keys[k] = keyAux[i];
+                values[k++] = valueAux[i++];
+            }
+        }
+        while (i < leftLength) {
+            keys[k] = keyAux[i];
+            values[k++] = valueAux[i++];
+        }
+    }
+
+    private static void insertSortRange(int[] keys, int[] values, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            int key = keys[i + 1];
+            int value = values[i + 1];
+            while (key < keys[j]) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (j-- == left) break;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     */
+    public static void introSort(int[] keys, int[] values) {
+        introSort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * 按键排序，值数组随键一起移动(不稳定)，不分配额外内存
+     *
+     * @param keys
+     * @param values 与keys一一对应
+     * @param lo
+     * @param hi
+     */
+    public static void introSort(int[] keys, int[] values, int lo, int hi) {
+        lengthCheck(keys.length, values.length);
+        if (lo >= hi) return;
+        rangeCheck(keys.length, lo, hi);
+        introSort(keys, values, lo, hi, 2 * log2(hi - lo + 1));
+    }
+
+    private static void introSort(int[] keys, int[] values, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRange(keys, values, lo, hi);
+                return;
+            }
+            int pivot = keys[MedianOf3(keys, lo, lo + ((hi - lo) >>> 1), hi)];
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int k = keys[i];
+                if (k < pivot) {
+                    swap(keys, values, i++, lt++);
+                } else if (k > pivot) {
+                    swap(keys, values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(keys, values, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            } else {
+                introSort(keys, values, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        if (lo < hi) {
+            insertSortRange(keys, values, lo, hi);
+        }
+    }
+
+    private static void heapSortRange(int[] keys, int[] values, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(keys, values, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, values, lo, lo + end);
+            siftDown(keys, values, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] keys, int[] values, int base, int i, int size) {
+        int key = keys[base + i];
+        int value = values[base + i];
+        int child;
+        while ((child = (i << 1) + 1) < size) {
+            if (child + 1 < size && keys[base + child + 1] > keys[base + child]) {
+                child++;
+            }
+            if (key >= keys[base + child]) break;
+            keys[base + i] = keys[base + child];
+            values[base + i] = values[base + child];
+            i = child;
+        }
+        keys[base + i] = key;
+        values[base + i] = value;
+    }
+
+    private static void swap(int[] keys, int[] values, int i, int j) {
+        int k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        int v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(int[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(int[] keys, int[] order) {
+        int n = order.length;
+        int[] sortKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = keys[order[i]];
+        }
+        mergeSort(sortKeys, order);
+        return order;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(long[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(long[] keys, int[] order) {
+        int n = order.length;
+        long[] sortKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = keys[order[i]];
+        }
+        if (n > 1) {
+            // 合并时只暂存左半部分，辅助数组取最外层左半部分的长度
+            mergeSort(sortKeys, order, new long[(n + 1) / 2], new int[(n + 1) / 2], 0, n - 1);
+        }
+        return order;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...，顺序与Double.compare一致
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(double[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(double[] keys, int[] order) {
+        int n = order.length;
+        // 转换为与Double.compare顺序一致的有符号整数，NaN排在最后
+        long[] sortKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = sortableBits(keys[order[i]]) ^ Long.MIN_VALUE;
+        }
+        if (n > 1) {
+            // 合并时只暂存左半部分，辅助数组取最外层左半部分的长度
+            mergeSort(sortKeys, order, new long[(n + 1) / 2], new int[(n + 1) / 2], 0, n - 1);
+        }
+        return order;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...，顺序与Float.compare一致
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(float[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(float[] keys, int[] order) {
+        int n = order.length;
+        // 转换为与Float.compare顺序一致的有符号整数，NaN排在最后
+        int[] sortKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = sortableBits(keys[order[i]]) ^ Integer.MIN_VALUE;
+        }
+        mergeSort(sortKeys, order);
+        return order;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(short[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(short[] keys, int[] order) {
+        int n = order.length;
+        int[] sortKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = keys[order[i]];
+        }
+        mergeSort(sortKeys, order);
+        return order;
+    }
+
+    /**
+     * 返回使keys有序的下标数组(稳定)，即keys[result[0]] <= keys[result[1]] <= ...
+     *
+     * @param keys
+     * @return
+     */
+    public static int[] argsort(char[] keys) {
+        return argsort(keys, identity(keys.length));
+    }
+
+    /**
+     * 按keys[order[i]]对order重新排序(稳定)，键相等的下标保持order中原有的先后顺序
+     * 多列排序时先按次要列求下标，再依次传入更主要的列即可得到字典序
+     *
+     * @param keys
+     * @param order 待排序的下标数组，原地修改
+     * @return order
+     */
+    public static int[] argsort(char[] keys, int[] order) {
+        int n = order.length;
+        int[] sortKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = keys[order[i]];
+        }
+        mergeSort(sortKeys, order);
+        return order;
+    }
+
+    /**
+     * 生成0, 1, ..., n - 1的下标数组
+     *
+     * @param n
+     * @return
+     */
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static void mergeSort(long[] keys, int[] values, long[] keyAux, int[] valueAux, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertSortRange(keys, values, lo, hi);
+            return;
+        }
+        int mid = lo + ((hi - lo) >>> 1);
+        mergeSort(keys, values, keyAux, valueAux, lo, mid);
+        mergeSort(keys, values, keyAux, valueAux, mid + 1, hi);
+        if (keys[mid] <= keys[mid + 1]) return;
+        int leftLength = mid - lo + 1;
+        System.arraycopy(keys, lo, keyAux, 0, leftLength);
+        System.arraycopy(values, lo, valueAux, 0, leftLength);
+        int i = 0, j = mid + 1, k = lo;
+        while (i < leftLength && j <= hi) {
+            if (keys[j] < keyAux[i]) {
+                keys[k] = keys[j];
+                values[k++] = values[j++];
+            } else {
+                keys[k] = keyAux[i];
+                values[k++] = valueAux[i++];
+            }
+        }
+        while (i < leftLength) {
+            keys[k] = keyAux[i];
+            values[k++] = valueAux[i++];
+        }
+    }
+
+    private static void insertSortRange(long[] keys, int[] values, int left, int right) {
+        for (int i = left, j = i; i < right; j = ++i) {
+            long key = keys[i + 1];
+            int value = values[i + 1];
+            while (key < keys[j]) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (j-- == left) break;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * 按下标数组重排列，返回新数组result[i] = column[order[i]]
+     *
+     * @param column
+     * @param order
+     * @return
+     */
+    public static int[] permute(int[] column, int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 按下标数组重排列，返回新数组result[i] = column[order[i]]
+     *
+     * @param column
+     * @param order
+     * @return
+     */
+    public static long[] permute(long[] column, int[] order) {
+        long[] result = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 按下标数组重排列，返回新数组result[i] = column[order[i]]
+     *
+     * @param column
+     * @param order
+     * @return
+     */
+    public static double[] permute(double[] column, int[] order) {
+        double[] result = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 按下标数组重排列，返回新数组result[i] = column[order[i]]
+     *
+     * @param column
+     * @param order
+     * @return
+     */
+    public static float[] permute(float[] column, int[] order) {
+        float[] result = new float[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 校验键数组与值数组长度一致
+     *
+     * @param keyLength
+     * @param valueLength
+     */
+    private static void lengthCheck(int keyLength, int valueLength) {
+        if (keyLength != valueLength) {
+            throw new IllegalArgumentException(
+                    "keys.length(" + keyLength + ") != values.length(" + valueLength + ")");
+        }
+    }
+
+    /**
+     * 以arr[lo]为基准划分arr[lo..hi]，返回基准元素的最终位置
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     * @return
+     */
+    static int partition(int[] arr, int lo, int hi) {
+        int i = lo, j = hi + 1;
+        while (true) {
+            //从右自左扫描，如果碰到比基准元素arr[lo]大，则该元素已经位于正确的分区，j自减，继续比较j-1
+            //否则，退出循环，准备交换
+            while (arr[--j] > arr[lo]) {
+                //如果扫描到了最左端，退出循环
+                if (j == lo) break;
+            }
+            //从左至右扫描，如果碰到比基准元素arr[lo]小，则该元素已经位于正确的分区，i自增，继续比较i+1；
+            //否则，退出循环，准备交换
+            while (arr[++i] < arr[lo]) {
+                //如果扫描到了最右端，退出循环
+                if (i == hi) break;
+            }
+            //如果相遇，退出循环
+            if (i >= j) break;
+            //交换左a[i],a[j]右两个元素，交换完后他们都位于正确的分区
+            swap(arr, i, j);
+        }
+        //经过相遇后，最后一次a[i]和a[j]的交换
+        //a[j]比a[lo]小，a[i]比a[lo]大，所以将基准元素与a[j]交换
+        swap(arr, lo, j);
+        //返回扫描相遇的位置点
+        return j;
+    }
+
+    /**
+     * 三平均分区法
+     *
+     * @param arr
+     * @param lo
+     * @param center
+     * @param hi
+     * @return
+     */
+    static int MedianOf3(int[] arr, int lo, int center, int hi) {
+        return (arr[lo] < arr[center]) ? (arr[center] < arr[hi] ? center : arr[lo] < arr[hi] ? hi : lo) : (arr[hi] < arr[center] ? center : arr[hi] < arr[lo] ? hi : lo);
+    }
+
+    public static void print(int[] arr) {
+        for (int i : arr) {
+            System.out.print(i + " ");
+        }
+    }
+
+    /**
+     * 合并arr[lo..mid]和arr[mid + 1..hi]
+     * 两侧都有剩余时，比较结果只决定写入哪个值、哪一侧的下标前进，没有依赖数据的跳转，JIT编译为条件传送；
+     * 左侧先取完时右侧剩余的元素已经在最终位置上，右侧先取完时把左侧剩余的元素整段拷贝回去
+     *
+     * @param arr
+     * @param aux 辅助数组，长度不小于hi - lo + 1，arr[lo..hi]拷贝到aux[0..hi - lo]
+     * @param lo
+     * @param mid
+     * @param hi
+     */
+    private static void merge(int[] arr, int[] aux, int lo, int mid, int hi) {
+        long start = SortMetrics.ENABLED ? SortMetrics.phaseStart() : 0;
+        //把元素拷贝到辅助数组中
+        System.arraycopy(arr, lo, aux, 0, hi - lo + 1);
+        int i = 0, leftEnd = mid - lo, j = leftEnd + 1, rightEnd = hi - lo, k = lo;
+        while (i <= leftEnd && j <= rightEnd) {
+            int x = aux[i], y = aux[j];
+            // 右侧严格小于左侧时才取右侧，保证稳定
+            boolean right = y < x;
+            arr[k++] = right ? y : x;
+            j += right ? 1 : 0;
+            i += right ? 0 : 1;
+        }
+        if (SortMetrics.ENABLED) SortMetrics.comparisons(k - lo);
+        if (i <= leftEnd) {
+            System.arraycopy(aux, i, arr, k, leftEnd - i + 1);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.moves(2L * (hi - lo + 1));
+            SortMetrics.phaseEnd(SortStats.Phase.MERGE, start);
         }
     }
 
@@ -256,8 +3944,9 @@ public class SortUtils {
      * @param i
      * @param j
      */
-    private static void swap(int[] arr, int i, int j) {
+    static void swap(int[] arr, int i, int j) {
         if (i == j) return;
+        if (SortMetrics.ENABLED) SortMetrics.moves(2);
         arr[i] = arr[i] + arr[j];
         arr[j] = arr[i] - arr[j];
         arr[i] = arr[i] - arr[j];
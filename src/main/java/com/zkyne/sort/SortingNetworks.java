@@ -0,0 +1,94 @@
+package com.zkyne.sort;
+
+/**
+ * @ClassName: SortingNetworks
+ * @Description: 小数组排序网络，作为快速排序、合并排序和批量排序的基础情形
+ * 比较器按Batcher奇偶归并排序网络生成(32路，191个比较器)，长度为n时去掉涉及下标n及以上的比较器，
+ * 相当于在末尾补+∞，仍然是正确的排序网络。每个比较器用Math.min/Math.max实现，JIT编译为条件传送指令，
+ * 比较结果不影响控制流，不存在插入排序那样随数据变化的分支预测失败
+ * @Author: zkyne
+ * @Date: 2026/10/17 19:00
+ */
+final class SortingNetworks {
+
+    /**
+     * 排序网络支持的最大长度
+     */
+    static final int MAX_SIZE = 32;
+
+    /**
+     * NETWORKS[n]为长度n的比较器序列，相邻两个元素为一个比较器的两个下标
+     */
+    private static final int[][] NETWORKS = new int[MAX_SIZE + 1][];
+
+    static {
+        int[] full = batcher(MAX_SIZE);
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            int count = 0;
+            for (int k = 0; k < full.length; k += 2) {
+                if (full[k + 1] < n) count++;
+            }
+            int[] network = new int[count * 2];
+            for (int k = 0, m = 0; k < full.length; k += 2) {
+                if (full[k + 1] < n) {
+                    network[m++] = full[k];
+                    network[m++] = full[k + 1];
+                }
+            }
+            NETWORKS[n] = network;
+        }
+    }
+
+    private SortingNetworks() {
+    }
+
+    /**
+     * 对arr[lo..hi]排序，hi - lo + 1不超过MAX_SIZE，调用方保证下标合法
+     *
+     * @param arr
+     * @param lo
+     * @param hi
+     */
+    static void sort(int[] arr, int lo, int hi) {
+        long start = SortMetrics.ENABLED ? SortMetrics.phaseStart() : 0;
+        int[] network = NETWORKS[hi - lo + 1];
+        for (int k = 0; k < network.length; k += 2) {
+            int i = lo + network[k], j = lo + network[k + 1];
+            int x = arr[i], y = arr[j];
+            arr[i] = Math.min(x, y);
+            arr[j] = Math.max(x, y);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.comparisons(network.length >>> 1);
+            SortMetrics.moves(network.length);
+            SortMetrics.phaseEnd(SortStats.Phase.INSERTION, start);
+        }
+    }
+
+    /**
+     * 生成长度为n(2的幂)的Batcher奇偶归并排序网络
+     *
+     * @param n
+     * @return
+     */
+    private static int[] batcher(int n) {
+        int[] pairs = new int[n * n];
+        int size = 0;
+        for (int p = 1; p < n; p <<= 1) {
+            for (int k = p; k >= 1; k >>>= 1) {
+                for (int j = k % p; j + k < n; j += 2 * k) {
+                    for (int i = 0; i < Math.min(k, n - j - k); i++) {
+                        // 只比较属于同一个长度为2p的归并块的两个元素
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[size++] = i + j;
+                            pairs[size++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+        int[] result = new int[size];
+        System.arraycopy(pairs, 0, result, 0, size);
+        return result;
+    }
+}
@@ -0,0 +1,381 @@
+package com.zkyne.tree;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: ArrayBinarySearchTree
+ * @Description: 数组存储的二叉查找树(AVL自平衡)，不为每个条目创建BNode对象
+ * 节点用数组下标表示，NIL(-1)表示空。查找路径上要访问的键和左右子节点放在同一个int[]中(每个节点连续4个int：
+ * 键、左、右、父)，一个节点只占16字节，查找每一步只访问一个缓存行；值和高度存放在并行的double[]/byte[]中。
+ * 删除后空出的下标通过左子节点的位置串成空闲链表，插入时优先复用。
+ * 每个条目占用25字节(键和三个链接16 + double值8 + byte高度1)，BNode对象约40字节
+ * (对象头12 + 键值12 + 三个压缩引用12 + 高度4)，且GC只需扫描3个数组而不是N个对象。
+ * 与BinarySearchTree语义相同：允许重复键(插入到右侧)，find返回任意一个匹配的节点；
+ * 节点下标在该节点被删除之前保持不变
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 19:40
+ */
+public class ArrayBinarySearchTree {
+
+    /**
+     * 空节点
+     */
+    public static final int NIL = -1;
+
+    /**
+     * 每个条目占用的字节数
+     */
+    public static final int BYTES_PER_ENTRY = 4 * Integer.BYTES + Double.BYTES + Byte.BYTES;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 每个节点在links中占4个int：键、左子节点、右子节点、父节点
+     */
+    private static final int SHIFT = 2;
+    private static final int KEY = 0;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int PARENT = 3;
+
+    private int[] links;
+    private double[] values;
+    private byte[] heights; //AVL树高不超过1.44·log2(N)，byte足够
+    private int root = NIL; //根节点
+    private int size; //节点个数
+    private int next; //从未使用过的最小下标
+    private int free = NIL; //空闲链表头
+
+    public ArrayBinarySearchTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 初始容量，超过后按1.5倍扩容
+     */
+    public ArrayBinarySearchTree(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity(" + capacity + ") < 1");
+        }
+        links = new int[capacity << SHIFT];
+        values = new double[capacity];
+        heights = new byte[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 当前容量下数组占用的字节数
+     *
+     * @return
+     */
+    public long memoryUsage() {
+        return (long) values.length * BYTES_PER_ENTRY;
+    }
+
+    public int getRoot() {
+        return root;
+    }
+
+    public int getKey(int node) {
+        return links[(node << SHIFT) + KEY];
+    }
+
+    public double getData(int node) {
+        return values[node];
+    }
+
+    public void setData(int node, double data) {
+        values[node] = data;
+    }
+
+    public int getLeftChild(int node) {
+        return links[(node << SHIFT) + LEFT];
+    }
+
+    public int getRightChild(int node) {
+        return links[(node << SHIFT) + RIGHT];
+    }
+
+    public int getParent(int node) {
+        return links[(node << SHIFT) + PARENT];
+    }
+
+    public int getHeight(int node) {
+        return node == NIL ? 0 : heights[node];
+    }
+
+    /**
+     * 查找，时间复杂度为O(logN)
+     *
+     * @param key
+     * @return 节点下标，不存在时返回NIL
+     */
+    public int find(int key) {
+        int[] links = this.links;
+        int current = root;
+        while (current != NIL) {
+            int base = current << SHIFT;
+            int k = links[base + KEY];
+            if (k == key) break;
+            current = links[base + (key < k ? LEFT : RIGHT)];
+        }
+        return current;
+    }
+
+    /**
+     * 插入节点，键相同时插入到右侧
+     *
+     * @param key
+     * @param value
+     * @return 新节点的下标
+     */
+    public int insert(int key, double value) {
+        int node = allocate(key, value);
+        if (root == NIL) {
+            root = node;
+            return node;
+        }
+        int current = root, p;
+        do {
+            p = current;
+            current = key < getKey(current) ? getLeftChild(current) : getRightChild(current);
+        } while (current != NIL);
+        setParent(node, p);
+        if (key < getKey(p)) {
+            setLeftChild(p, node);
+        } else {
+            setRightChild(p, node);
+        }
+        rebalance(p);
+        return node;
+    }
+
+    /**
+     * 删除节点
+     *
+     * @param key
+     * @return 是否找到并删除
+     */
+    public boolean delete(int key) {
+        int node = find(key);
+        if (node == NIL) {
+            return false;
+        }
+        int lowest; //高度可能发生变化的最低节点
+        int left = getLeftChild(node), right = getRightChild(node);
+        if (left != NIL && right != NIL) {
+            // 用后继节点替换被删除的节点，后继节点没有左子节点
+            int successor = right;
+            while (getLeftChild(successor) != NIL) {
+                successor = getLeftChild(successor);
+            }
+            if (successor == right) {
+                lowest = successor;
+            } else {
+                lowest = getParent(successor);
+                replaceChild(successor, getRightChild(successor));
+                setRightChild(successor, right);
+                setParent(right, successor);
+            }
+            replaceChild(node, successor);
+            setLeftChild(successor, left);
+            setParent(left, successor);
+            heights[successor] = heights[node];
+        } else {
+            lowest = getParent(node);
+            replaceChild(node, left != NIL ? left : right);
+        }
+        release(node);
+        rebalance(lowest);
+        return true;
+    }
+
+    /**
+     * 最小键所在的节点
+     *
+     * @return 树为空时返回NIL
+     */
+    public int minNumber() {
+        int current = root;
+        if (current == NIL) return NIL;
+        while (getLeftChild(current) != NIL) {
+            current = getLeftChild(current);
+        }
+        return current;
+    }
+
+    /**
+     * 最大键所在的节点
+     *
+     * @return 树为空时返回NIL
+     */
+    public int maxNumber() {
+        int current = root;
+        if (current == NIL) return NIL;
+        while (getRightChild(current) != NIL) {
+            current = getRightChild(current);
+        }
+        return current;
+    }
+
+    private void setLeftChild(int node, int child) {
+        links[(node << SHIFT) + LEFT] = child;
+    }
+
+    private void setRightChild(int node, int child) {
+        links[(node << SHIFT) + RIGHT] = child;
+    }
+
+    private void setParent(int node, int parent) {
+        links[(node << SHIFT) + PARENT] = parent;
+    }
+
+    /**
+     * 取一个空闲下标存放新节点，空闲链表为空时使用新下标，容量不足时扩容
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    private int allocate(int key, double value) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = getLeftChild(node);
+        } else {
+            if (next == values.length) {
+                grow();
+            }
+            node = next++;
+        }
+        int base = node << SHIFT;
+        links[base + KEY] = key;
+        links[base + LEFT] = NIL;
+        links[base + RIGHT] = NIL;
+        links[base + PARENT] = NIL;
+        values[node] = value;
+        heights[node] = 1;
+        size++;
+        return node;
+    }
+
+    /**
+     * 把下标放回空闲链表
+     *
+     * @param node
+     */
+    private void release(int node) {
+        setLeftChild(node, free);
+        setRightChild(node, NIL);
+        setParent(node, NIL);
+        heights[node] = 0;
+        free = node;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = values.length + (values.length >> 1) + 1;
+        links = Arrays.copyOf(links, capacity << SHIFT);
+        values = Arrays.copyOf(values, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+
+    /**
+     * 从node开始向上更新高度，左右子树高度差超过1时旋转
+     *
+     * @param node
+     */
+    private void rebalance(int node) {
+        while (node != NIL) {
+            updateHeight(node);
+            int balance = getHeight(getLeftChild(node)) - getHeight(getRightChild(node));
+            if (balance > 1) {
+                int left = getLeftChild(node);
+                // LR型先对左子节点左旋
+                if (getHeight(getLeftChild(left)) < getHeight(getRightChild(left))) {
+                    rotateLeft(left);
+                }
+                node = rotateRight(node);
+            } else if (balance < -1) {
+                int right = getRightChild(node);
+                // RL型先对右子节点右旋
+                if (getHeight(getRightChild(right)) < getHeight(getLeftChild(right))) {
+                    rotateRight(right);
+                }
+                node = rotateLeft(node);
+            }
+            node = getParent(node);
+        }
+    }
+
+    private int rotateLeft(int node) {
+        int right = getRightChild(node);
+        int inner = getLeftChild(right);
+        setRightChild(node, inner);
+        if (inner != NIL) {
+            setParent(inner, node);
+        }
+        replaceChild(node, right);
+        setLeftChild(right, node);
+        setParent(node, right);
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    private int rotateRight(int node) {
+        int left = getLeftChild(node);
+        int inner = getRightChild(left);
+        setLeftChild(node, inner);
+        if (inner != NIL) {
+            setParent(inner, node);
+        }
+        replaceChild(node, left);
+        setRightChild(left, node);
+        setParent(node, left);
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    /**
+     * 在node的父节点中用replacement替换node，replacement可以为NIL
+     *
+     * @param node
+     * @param replacement
+     */
+    private void replaceChild(int node, int replacement) {
+        int parent = getParent(node);
+        if (replacement != NIL) {
+            setParent(replacement, parent);
+        }
+        if (parent == NIL) {
+            root = replacement;
+        } else if (getLeftChild(parent) == node) {
+            setLeftChild(parent, replacement);
+        } else {
+            setRightChild(parent, replacement);
+        }
+    }
+
+    private void updateHeight(int node) {
+        heights[node] = (byte) (Math.max(getHeight(getLeftChild(node)), getHeight(getRightChild(node))) + 1);
+    }
+
+    public static void main(String[] args) {
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree();
+        for (int i = 0; i < 1_000_000; i++) {
+            tree.insert(i, i * 0.5);
+        }
+        int node = tree.find(4096);
+        System.out.println(tree.getKey(node) + "---" + tree.getData(node));
+        System.out.println("height: " + tree.getHeight(tree.getRoot()) + ", bytes: " + tree.memoryUsage());
+    }
+}
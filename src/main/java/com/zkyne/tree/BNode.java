@@ -12,6 +12,7 @@ public class BNode {
     private BNode parent;
     private BNode leftChild;
     private BNode rightChild;
+    private int height; //以该节点为根的子树高度，叶子为1，仅在平衡模式下维护
 
     public BNode() {
     }
@@ -60,4 +61,12 @@ public class BNode {
     public void setRightChild(BNode rightChild) {
         this.rightChild = rightChild;
     }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
 }
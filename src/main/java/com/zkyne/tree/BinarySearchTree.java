@@ -1,20 +1,39 @@
 package com.zkyne.tree;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * @ClassName: BinarySearchTree
  * @Description: 二叉查找树
  * @Author: zhangkun01
  * @Date: 2018/4/8 15:37
  */
-public class BinarySearchTree {
+public class BinarySearchTree implements Iterable<BNode> {
 
     private BNode root; //根节点
+    private final boolean balanced; //是否自平衡(AVL)
 
     public BinarySearchTree() {
-        root = null;
+        this(false);
+    }
+
+    /**
+     * @param balanced 为true时插入和删除后按AVL规则旋转，任意插入顺序下树高都不超过1.44·logN
+     */
+    public BinarySearchTree(boolean balanced) {
+        this.root = null;
+        this.balanced = balanced;
     }
+
     public BinarySearchTree(BNode root) {
         this.root = root;
+        this.balanced = false;
+    }
+
+    public boolean isBalanced() {
+        return balanced;
     }
 
     public BNode getRoot() {
@@ -22,21 +41,18 @@ public class BinarySearchTree {
     }
 
     /**
-     * 二叉搜索树查找的时间复杂度为O(logN)
+     * 二叉搜索树查找的时间复杂度为O(logN)(非平衡模式下最坏为O(N))
      * @param key find node with given key
      * @return
      */
     public BNode find(int key) {
         BNode current = root;
-        while (current.getKey() != key) {
+        while (current != null && current.getKey() != key) {
             if (key < current.getKey()) {
                 current = current.getLeftChild();
             } else {
                 current = current.getRightChild();
             }
-            if (current == null) {
-                return null;
-            }
         }
         return current;
     }
@@ -50,6 +66,7 @@ public class BinarySearchTree {
         BNode newNode = new BNode();
         newNode.setKey(key);
         newNode.setData(value);
+        newNode.setHeight(1);
         if (root == null) { //if tree is null
             root = newNode;
         } else {
@@ -62,6 +79,7 @@ public class BinarySearchTree {
                     if (current == null) {
                         parent.setLeftChild(newNode);
                         newNode.setParent(parent);
+                        rebalance(parent);
                         return;
                     }
                 } else /*if(key > current.getKey()) */{ //turn right
@@ -69,6 +87,7 @@ public class BinarySearchTree {
                     if (current == null) {
                         parent.setRightChild(newNode);
                         newNode.setParent(parent);
+                        rebalance(parent);
                         return;
                     }
                 }/*else{
@@ -80,64 +99,280 @@ public class BinarySearchTree {
     }
 
     /**
-     * 遍历二叉树
+     * 遍历二叉树，依次打印每个节点的值
      * @param traverseType 1 前序 2 中序 3 后序 其他默认中序
      */
     public void traverse(int traverseType) {
         switch (traverseType) {
             case 1:
                 System.out.println("Preorder traversal:");
-                preOrder(root);//前向遍历
-                break;
-            case 2:
-                System.out.println("Inorder traversal:");
-                inOrder(root);//中向遍历
                 break;
             case 3:
                 System.out.println("Postorder traversal:");
-                postOrder(root);//后向遍历
                 break;
             default:
                 System.out.println("Inorder traversal:");
-                inOrder(root);
                 break;
         }
+        traverse(traverseType, (key, data) -> System.out.print(data + " "));
         System.out.println("");
     }
 
     /**
-     * 前序遍历
-     * @param localRoot
+     * 遍历二叉树，每个节点回调一次visitor
+     * 用显式栈代替递归，树再深也不会栈溢出
+     * @param traverseType 1 前序 2 中序 3 后序 其他默认中序
+     * @param visitor
+     */
+    public void traverse(int traverseType, NodeVisitor visitor) {
+        switch (traverseType) {
+            case 1:
+                preOrder(visitor);//前向遍历
+                break;
+            case 3:
+                postOrder(visitor);//后向遍历
+                break;
+            default:
+                forEach(visitor);//中向遍历
+                break;
+        }
+    }
+
+    /**
+     * 前序遍历：弹出一个节点访问，再依次压入右、左子节点
+     * @param visitor
      */
-    private void preOrder(BNode localRoot) {
-        if (localRoot != null) {
-            System.out.print(localRoot.getData() + " ");
-            preOrder(localRoot.getLeftChild());
-            preOrder(localRoot.getRightChild());
+    private void preOrder(NodeVisitor visitor) {
+        if (root == null) {
+            return;
+        }
+        NodeStack stack = newStack();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            BNode node = stack.pop();
+            visitor.visit(node.getKey(), node.getData());
+            if (node.getRightChild() != null) {
+                stack.push(node.getRightChild());
+            }
+            if (node.getLeftChild() != null) {
+                stack.push(node.getLeftChild());
+            }
         }
     }
 
     /**
-     * 中序遍历
-     * @param localRoot
+     * 后序遍历：沿左(没有左子节点时沿右)走到底，栈中保存路径，
+     * 访问一个节点后，若它是父节点的左子节点且父节点有右子树，再从右子树重复这一过程
+     * @param visitor
      */
-    private void inOrder(BNode localRoot) {
-        if (localRoot != null) {
-            inOrder(localRoot.getLeftChild());
-            System.out.print(localRoot.getData() + " ");
-            inOrder(localRoot.getRightChild());
+    private void postOrder(NodeVisitor visitor) {
+        NodeStack stack = newStack();
+        pushDeepest(stack, root);
+        while (!stack.isEmpty()) {
+            BNode node = stack.pop();
+            visitor.visit(node.getKey(), node.getData());
+            if (!stack.isEmpty()) {
+                BNode parent = stack.peek();
+                if (node == parent.getLeftChild() && parent.getRightChild() != null) {
+                    pushDeepest(stack, parent.getRightChild());
+                }
+            }
         }
     }
 
     /**
-     * 后序遍历
-     * @param localRoot
+     * 中序遍历，每个节点回调一次visitor
+     * @param visitor
      */
-    private void postOrder(BNode localRoot) {
-        if (localRoot != null) {
-            postOrder(localRoot.getLeftChild());
-            postOrder(localRoot.getRightChild());
-            System.out.print(localRoot.getData() + " ");
+    public void forEach(NodeVisitor visitor) {
+        forEach(Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, visitor);
+    }
+
+    /**
+     * 按键升序访问键在[from, to)之间的节点
+     * 先从根走到第一个不小于from的节点，路径上不小于from的节点压栈，之后与中序遍历相同，遇到不小于to的键时停止
+     * @param from 下界(包含)
+     * @param to 上界(不包含)
+     * @param visitor
+     */
+    public void forEach(int from, int to, NodeVisitor visitor) {
+        forEach(from, (long) to, visitor);
+    }
+
+    private void forEach(long from, long to, NodeVisitor visitor) {
+        InOrderIterator it = new InOrderIterator(from, to);
+        while (it.hasNext()) {
+            BNode node = it.next();
+            visitor.visit(node.getKey(), node.getData());
+        }
+    }
+
+    /**
+     * Morris中序遍历，额外空间为O(1)
+     * 遍历过程中临时把前驱节点的右子节点指向当前节点作为线索，回到当前节点时再恢复，
+     * 遍历结束后树的结构不变；visitor中不能修改树，遍历期间也不能有其他线程读取这棵树
+     * visitor抛出异常时，先不回调地走完剩下的遍历把线索全部恢复，再把异常抛给调用方
+     * @param visitor
+     */
+    public void morrisTraverse(NodeVisitor visitor) {
+        BNode current = root;
+        boolean done = false;
+        try {
+            while (current != null) {
+                current = morrisStep(current, visitor);
+            }
+            done = true;
+        } finally {
+            if (!done) {
+                //从出错的节点继续走完遍历，沿途的线索都会被删除
+                while (current != null) {
+                    current = morrisStep(current, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Morris遍历的一步
+     * @param current
+     * @param visitor 为null时只移动，不回调
+     * @return 下一个要处理的节点
+     */
+    private static BNode morrisStep(BNode current, NodeVisitor visitor) {
+        if (current.getLeftChild() == null) {
+            if (visitor != null) {
+                visitor.visit(current.getKey(), current.getData());
+            }
+            return current.getRightChild();
+        }
+        //找到current在左子树中的前驱节点
+        BNode pre = current.getLeftChild();
+        while (pre.getRightChild() != null && pre.getRightChild() != current) {
+            pre = pre.getRightChild();
+        }
+        if (pre.getRightChild() == null) { //第一次到达current，建立线索后进入左子树
+            pre.setRightChild(current);
+            return current.getLeftChild();
+        }
+        //沿线索回到current，左子树已经访问完，恢复线索
+        pre.setRightChild(null);
+        if (visitor != null) {
+            visitor.visit(current.getKey(), current.getData());
+        }
+        return current.getRightChild();
+    }
+
+    /**
+     * 按键升序的迭代器
+     * @return
+     */
+    @Override
+    public Iterator<BNode> iterator() {
+        return new InOrderIterator(Integer.MIN_VALUE, Integer.MAX_VALUE + 1L);
+    }
+
+    /**
+     * 按键升序返回键在[from, to)之间的节点
+     * @param from 下界(包含)
+     * @param to 上界(不包含)
+     * @return
+     */
+    public Iterator<BNode> rangeIterator(int from, int to) {
+        return new InOrderIterator(from, to);
+    }
+
+    /**
+     * 遍历用的栈，平衡模式下容量取树高，否则从32开始按需扩容
+     * @return
+     */
+    private NodeStack newStack() {
+        return new NodeStack(Math.max(balanced ? height(root) + 1 : 0, 32));
+    }
+
+    /**
+     * 从node开始沿左子节点(没有时沿右子节点)走到叶子，把经过的节点压栈
+     * @param stack
+     * @param node
+     */
+    private static void pushDeepest(NodeStack stack, BNode node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.getLeftChild() != null ? node.getLeftChild() : node.getRightChild();
+        }
+    }
+
+    /**
+     * 数组实现的节点栈，代替递归调用栈
+     */
+    private static final class NodeStack {
+        private BNode[] nodes;
+        private int size;
+
+        NodeStack(int capacity) {
+            nodes = new BNode[capacity];
+        }
+
+        void push(BNode node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size << 1);
+            }
+            nodes[size++] = node;
+        }
+
+        BNode pop() {
+            return nodes[--size];
+        }
+
+        BNode peek() {
+            return nodes[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * 中序迭代器，栈中保存从根到下一个节点的路径上尚未访问的节点
+     */
+    private final class InOrderIterator implements Iterator<BNode> {
+        private final NodeStack stack = newStack();
+        private final long to; //上界(不包含)
+
+        /**
+         * 从根走到第一个不小于from的节点，路径上不小于from的节点压栈
+         * @param from 下界(包含)
+         * @param to 上界(不包含)
+         */
+        InOrderIterator(long from, long to) {
+            this.to = to;
+            BNode node = root;
+            while (node != null) {
+                if (node.getKey() >= from) {
+                    stack.push(node);
+                    node = node.getLeftChild();
+                } else {
+                    node = node.getRightChild();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.peek().getKey() < to;
+        }
+
+        @Override
+        public BNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BNode node = stack.pop();
+            //下一个节点是右子树中最左边的节点
+            for (BNode n = node.getRightChild(); n != null; n = n.getLeftChild()) {
+                stack.push(n);
+            }
+            return node;
         }
     }
 
@@ -207,17 +442,32 @@ public class BinarySearchTree {
         //找到了要删除的节点，下面开始删除
         //1. 要删除的节点没有子节点,直接将其父节点的左子节点或者右子节点赋为null即可
         if (current.getLeftChild() == null && current.getRightChild() == null) {
-            return deleteNoChild(current, isLeftChild);
+            BNode parent = current.getParent();
+            deleteNoChild(current, isLeftChild);
+            rebalance(parent);
+            return true;
         }
 
         //3. 要删除的节点有两个子节点
         else if (current.getLeftChild() != null && current.getRightChild() != null) {
-            return deleteTwoChild(current, isLeftChild);
+            // 高度发生变化的最低节点：后继节点就是右子节点时为后继节点本身，否则为后继节点原来的父节点
+            BNode successor = current.getRightChild();
+            while (successor.getLeftChild() != null) {
+                successor = successor.getLeftChild();
+            }
+            BNode lowest = successor == current.getRightChild() ? successor : successor.getParent();
+            deleteTwoChild(current, isLeftChild);
+            successor.setHeight(current.getHeight());
+            rebalance(lowest);
+            return true;
         }
 
         //2. 要删除的节点有一个子节点，直接将其砍断，将其子节点与其父节点连起来即可，要考虑特殊情况就是删除根节点，因为根节点没有父节点
         else {
-            return deleteOneChild(current, isLeftChild);
+            BNode parent = current.getParent();
+            deleteOneChild(current, isLeftChild);
+            rebalance(parent);
+            return true;
         }
 
     }
@@ -251,7 +501,7 @@ public class BinarySearchTree {
         if (node.getLeftChild() == null) {
             if (node == root) {
                 root = node.getRightChild();
-                node.setParent(null);
+                root.setParent(null);
                 return true;
             }
             if (isLeftChild) {
@@ -263,7 +513,7 @@ public class BinarySearchTree {
         } else {
             if (node == root) {
                 root = node.getLeftChild();
-                node.setParent(null);
+                root.setParent(null);
                 return true;
             }
             if (isLeftChild) {
@@ -284,22 +534,17 @@ public class BinarySearchTree {
      */
     public boolean deleteTwoChild(BNode node, boolean isLeftChild) {
         BNode successor = getSuccessor(node);
+        BNode parent = node.getParent();
         if (node == root) {
-            // 这里主要是防止在删除根节点的右节点的左节点为空时出错
-            if (root.getRightChild().getLeftChild() == null){
-                successor.setRightChild(node.getRightChild().getRightChild());
-            } else{
-                successor.setRightChild(root.getRightChild());
-            }
-            successor.setLeftChild(root.getLeftChild());
-            successor.setParent(null);
             root = successor;
         } else if (isLeftChild) {
-            node.getParent().setLeftChild(successor);
+            parent.setLeftChild(successor);
         } else {
-            node.getParent().setRightChild(successor);
+            parent.setRightChild(successor);
         }
+        successor.setParent(parent);
         successor.setLeftChild(node.getLeftChild());//connect successor to node's left child
+        node.getLeftChild().setParent(successor);
         return true;
     }
 
@@ -321,26 +566,123 @@ public class BinarySearchTree {
                 successor.getRightChild().setParent(successor.getParent());//删除后续节点在原来的位置
             }
             successor.setRightChild(delNode.getRightChild());//将后续节点放到正确位置，与右边连上
+            delNode.getRightChild().setParent(successor);
         }
         return successor;
     }
 
+    /**
+     * 平衡模式下从node开始向上更新高度，左右子树高度差超过1时旋转
+     * @param node
+     */
+    private void rebalance(BNode node) {
+        if (!balanced) {
+            return;
+        }
+        while (node != null) {
+            updateHeight(node);
+            int balance = height(node.getLeftChild()) - height(node.getRightChild());
+            if (balance > 1) {
+                BNode left = node.getLeftChild();
+                // 左子树的右侧更高(LR型)时先对左子节点左旋，转为LL型
+                if (height(left.getLeftChild()) < height(left.getRightChild())) {
+                    rotateLeft(left);
+                }
+                node = rotateRight(node);
+            } else if (balance < -1) {
+                BNode right = node.getRightChild();
+                // 右子树的左侧更高(RL型)时先对右子节点右旋，转为RR型
+                if (height(right.getRightChild()) < height(right.getLeftChild())) {
+                    rotateRight(right);
+                }
+                node = rotateLeft(node);
+            }
+            node = node.getParent();
+        }
+    }
+
+    /**
+     * 左旋，node的右子节点成为子树的新根，返回新根
+     * @param node
+     * @return
+     */
+    private BNode rotateLeft(BNode node) {
+        BNode right = node.getRightChild();
+        node.setRightChild(right.getLeftChild());
+        if (right.getLeftChild() != null) {
+            right.getLeftChild().setParent(node);
+        }
+        replaceChild(node, right);
+        right.setLeftChild(node);
+        node.setParent(right);
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    /**
+     * 右旋，node的左子节点成为子树的新根，返回新根
+     * @param node
+     * @return
+     */
+    private BNode rotateRight(BNode node) {
+        BNode left = node.getLeftChild();
+        node.setLeftChild(left.getRightChild());
+        if (left.getRightChild() != null) {
+            left.getRightChild().setParent(node);
+        }
+        replaceChild(node, left);
+        left.setRightChild(node);
+        node.setParent(left);
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    /**
+     * 在node的父节点中用replacement替换node
+     * @param node
+     * @param replacement
+     */
+    private void replaceChild(BNode node, BNode replacement) {
+        BNode parent = node.getParent();
+        replacement.setParent(parent);
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.getLeftChild() == node) {
+            parent.setLeftChild(replacement);
+        } else {
+            parent.setRightChild(replacement);
+        }
+    }
+
+    private static int height(BNode node) {
+        return node == null ? 0 : node.getHeight();
+    }
+
+    private static void updateHeight(BNode node) {
+        node.setHeight(Math.max(height(node.getLeftChild()), height(node.getRightChild())) + 1);
+    }
+
     public static void main(String[] args) {
         BNode bNode = new BNode(0, 30D);
         BinarySearchTree binarySearchTree = new BinarySearchTree(bNode);
-        BNode root = binarySearchTree.getRoot();
-        binarySearchTree.postOrder(root);
-        System.out.println();
+        binarySearchTree.traverse(3);
         binarySearchTree.insert(2, 40D);
-        root = binarySearchTree.getRoot();
-        binarySearchTree.postOrder(root);
-        System.out.println();
+        binarySearchTree.traverse(3);
         binarySearchTree.insert(1, 50D);
-        root = binarySearchTree.getRoot();
-        binarySearchTree.postOrder(root);
-        System.out.println();
+        binarySearchTree.traverse(3);
         BNode bNode1 = binarySearchTree.find(0);
         System.out.println(bNode1.getKey() + "---" + bNode1.getData());
+        // 平衡模式下按顺序插入也不会退化为链表
+        BinarySearchTree balancedTree = new BinarySearchTree(true);
+        for (int i = 0; i < 1_000_000; i++) {
+            balancedTree.insert(i, i);
+        }
+        System.out.println("height: " + balancedTree.getRoot().getHeight());
+        double[] sum = new double[1];
+        balancedTree.forEach(1000, 2000, (key, data) -> sum[0] += data);
+        System.out.println("sum of [1000, 2000): " + sum[0]);
     }
 
 }
@@ -0,0 +1,76 @@
+package com.zkyne.tree;
+
+/**
+ * @ClassName: IntRBNode
+ * @Description: int键的红黑树节点，可附带一个double值
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 20:10
+ */
+public class IntRBNode {
+    private int key; //关键字(键值)
+    private double value; //值
+    private boolean color; //颜色
+    private IntRBNode parent; //父节点
+    private IntRBNode left; //左子节点
+    private IntRBNode right; //右子节点
+
+    public IntRBNode() {
+    }
+
+    public IntRBNode(int key, double value, boolean color, IntRBNode parent, IntRBNode left, IntRBNode right) {
+        this.key = key;
+        this.value = value;
+        this.color = color;
+        this.parent = parent;
+        this.left = left;
+        this.right = right;
+    }
+
+    public boolean getColor() {
+        return color;
+    }
+
+    public void setColor(boolean color) {
+        this.color = color;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    public void setKey(int key) {
+        this.key = key;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    public IntRBNode getLeft() {
+        return left;
+    }
+
+    public void setLeft(IntRBNode left) {
+        this.left = left;
+    }
+
+    public IntRBNode getRight() {
+        return right;
+    }
+
+    public void setRight(IntRBNode right) {
+        this.right = right;
+    }
+
+    public IntRBNode getParent() {
+        return parent;
+    }
+
+    public void setParent(IntRBNode parent) {
+        this.parent = parent;
+    }
+}
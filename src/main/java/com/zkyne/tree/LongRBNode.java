@@ -0,0 +1,76 @@
+package com.zkyne.tree;
+
+/**
+ * @ClassName: LongRBNode
+ * @Description: long键的红黑树节点，可附带一个double值
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 20:10
+ */
+public class LongRBNode {
+    private long key; //关键字(键值)
+    private double value; //值
+    private boolean color; //颜色
+    private LongRBNode parent; //父节点
+    private LongRBNode left; //左子节点
+    private LongRBNode right; //右子节点
+
+    public LongRBNode() {
+    }
+
+    public LongRBNode(long key, double value, boolean color, LongRBNode parent, LongRBNode left, LongRBNode right) {
+        this.key = key;
+        this.value = value;
+        this.color = color;
+        this.parent = parent;
+        this.left = left;
+        this.right = right;
+    }
+
+    public boolean getColor() {
+        return color;
+    }
+
+    public void setColor(boolean color) {
+        this.color = color;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public void setKey(long key) {
+        this.key = key;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    public LongRBNode getLeft() {
+        return left;
+    }
+
+    public void setLeft(LongRBNode left) {
+        this.left = left;
+    }
+
+    public LongRBNode getRight() {
+        return right;
+    }
+
+    public void setRight(LongRBNode right) {
+        this.right = right;
+    }
+
+    public LongRBNode getParent() {
+        return parent;
+    }
+
+    public void setParent(LongRBNode parent) {
+        this.parent = parent;
+    }
+}
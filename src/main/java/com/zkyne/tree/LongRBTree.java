@@ -0,0 +1,503 @@
+package com.zkyne.tree;
+
+import java.util.NoSuchElementException;
+
+/**
+ * @ClassName: LongRBTree
+ * @Description: long键的红黑树，可附带double值
+ * 旋转和插入/删除后的修整逻辑与RBinaryTree相同，键直接用long比较，查找和插入不需要装箱，
+ * 也没有compareTo的虚调用；search/contains/get不分配任何对象
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 20:10
+ */
+public class LongRBTree {
+    private static final boolean RED = false; //定义红黑树标志
+    private static final boolean BLACK = true;
+
+    private LongRBNode root; //根节点
+    private int size; //节点个数
+
+    public LongRBNode getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找键值为key的节点
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public LongRBNode search(long key) {
+        LongRBNode x = root;
+        while (x != null) {
+            long k = x.getKey();
+            if (key < k) {
+                x = x.getLeft();
+            } else if (key > k) {
+                x = x.getRight();
+            } else {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(long key) {
+        return search(key) != null;
+    }
+
+    /**
+     * 查找key对应的值
+     *
+     * @param key
+     * @param defaultValue key不存在时返回的值
+     * @return
+     */
+    public double get(long key, double defaultValue) {
+        LongRBNode node = search(key);
+        return node != null ? node.getValue() : defaultValue;
+    }
+
+    /**
+     * 最小的键，树为空时抛出NoSuchElementException
+     *
+     * @return
+     */
+    public long minKey() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return minNode(root).getKey();
+    }
+
+    /**
+     * 最大的键，树为空时抛出NoSuchElementException
+     *
+     * @return
+     */
+    public long maxKey() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return maxNode(root).getKey();
+    }
+
+    private LongRBNode minNode(LongRBNode tree) {
+        while (tree.getLeft() != null) {
+            tree = tree.getLeft();
+        }
+        return tree;
+    }
+
+    private LongRBNode maxNode(LongRBNode tree) {
+        while (tree.getRight() != null) {
+            tree = tree.getRight();
+        }
+        return tree;
+    }
+
+    /**
+     * 查找节点x的后继节点,即大于节点x的最小节点
+     *
+     * @param x
+     * @return
+     */
+    public LongRBNode successor(LongRBNode x) {
+        if (x.getRight() != null) {
+            return minNode(x.getRight());
+        }
+        LongRBNode p = x.getParent();
+        while ((p != null) && (x == p.getRight())) {
+            x = p;
+            p = x.getParent();
+        }
+        return p;
+    }
+
+    /**
+     * 查找节点x的前驱节点，即小于节点x的最大节点
+     *
+     * @param x
+     * @return
+     */
+    public LongRBNode predecessor(LongRBNode x) {
+        if (x.getLeft() != null) {
+            return maxNode(x.getLeft());
+        }
+        LongRBNode p = x.getParent();
+        while ((p != null) && (x == p.getLeft())) {
+            x = p;
+            p = x.getParent();
+        }
+        return p;
+    }
+
+    /**
+     * 插入键，值为0，键已存在时仍然插入(与RBinaryTree一致)
+     *
+     * @param key
+     */
+    public void insert(long key) {
+        insert(key, 0D);
+    }
+
+    /**
+     * 插入键值对，键已存在时仍然插入(与RBinaryTree一致)
+     *
+     * @param key
+     * @param value
+     */
+    public void insert(long key, double value) {
+        LongRBNode current = null;
+        LongRBNode x = root;
+        while (x != null) {
+            current = x;
+            x = key < x.getKey() ? x.getLeft() : x.getRight();
+        }
+        insert(current, key, value);
+    }
+
+    /**
+     * 键已存在时更新值，否则插入
+     *
+     * @param key
+     * @param value
+     */
+    public void put(long key, double value) {
+        LongRBNode current = null;
+        LongRBNode x = root;
+        while (x != null) {
+            current = x;
+            long k = x.getKey();
+            if (key < k) {
+                x = x.getLeft();
+            } else if (key > k) {
+                x = x.getRight();
+            } else {
+                x.setValue(value);
+                return;
+            }
+        }
+        insert(current, key, value);
+    }
+
+    /**
+     * 在parent下插入新节点并修整
+     *
+     * @param parent
+     * @param key
+     * @param value
+     */
+    private void insert(LongRBNode parent, long key, double value) {
+        LongRBNode node = new LongRBNode(key, value, RED, parent, null, null);
+        if (parent == null) {
+            root = node;
+        } else if (key < parent.getKey()) {
+            parent.setLeft(node);
+        } else {
+            parent.setRight(node);
+        }
+        size++;
+        insertFixUp(node);
+    }
+
+    /**
+     * 删除键值为key的一个节点
+     *
+     * @param key
+     * @return 是否找到并删除
+     */
+    public boolean remove(long key) {
+        LongRBNode node = search(key);
+        if (node == null) {
+            return false;
+        }
+        remove(node);
+        return true;
+    }
+
+    private void remove(LongRBNode node) {
+        LongRBNode child, parent;
+        boolean color;
+        size--;
+
+        //1. 被删除的节点“左右子节点都不为空”的情况，用后继节点取代被删除节点的位置
+        if ((node.getLeft() != null) && (node.getRight() != null)) {
+            LongRBNode replace = node.getRight();
+            while (replace.getLeft() != null) {
+                replace = replace.getLeft();
+            }
+            replaceChild(node, replace);
+
+            child = replace.getRight(); //后继节点肯定不存在左子节点
+            parent = replace.getParent();
+            color = replace.getColor();
+            if (parent == node) { //后继节点是被删除节点的子节点
+                parent = replace;
+            } else {
+                if (child != null) {
+                    child.setParent(parent);
+                }
+                parent.setLeft(child);
+                replace.setRight(node.getRight());
+                node.getRight().setParent(replace);
+            }
+            replace.setParent(node.getParent());
+            replace.setColor(node.getColor());
+            replace.setLeft(node.getLeft());
+            node.getLeft().setParent(replace);
+        } else {
+            //2. 被删除的节点最多有一个子节点，用子节点直接取代它
+            child = node.getLeft() != null ? node.getLeft() : node.getRight();
+            parent = node.getParent();
+            color = node.getColor();
+            if (child != null) {
+                child.setParent(parent);
+            }
+            replaceChild(node, child);
+        }
+        if (color == BLACK) { //移走的节点是黑色时重新修整红黑树
+            removeFixUp(child, parent);
+        }
+    }
+
+    /**
+     * 在node的父节点中用replacement替换node(不修改replacement的父节点)
+     *
+     * @param node
+     * @param replacement
+     */
+    private void replaceChild(LongRBNode node, LongRBNode replacement) {
+        LongRBNode parent = node.getParent();
+        if (parent == null) {
+            root = replacement;
+        } else if (node == parent.getLeft()) {
+            parent.setLeft(replacement);
+        } else {
+            parent.setRight(replacement);
+        }
+    }
+
+    /**
+     * 左旋，见RBinaryTree.leftRotate
+     *
+     * @param x
+     */
+    private void leftRotate(LongRBNode x) {
+        LongRBNode y = x.getRight();
+        x.setRight(y.getLeft());
+        if (y.getLeft() != null) {
+            y.getLeft().setParent(x);
+        }
+        y.setParent(x.getParent());
+        replaceChild(x, y);
+        y.setLeft(x);
+        x.setParent(y);
+    }
+
+    /**
+     * 右旋，见RBinaryTree.rightRotate
+     *
+     * @param y
+     */
+    private void rightRotate(LongRBNode y) {
+        LongRBNode x = y.getLeft();
+        y.setLeft(x.getRight());
+        if (x.getRight() != null) {
+            x.getRight().setParent(y);
+        }
+        x.setParent(y.getParent());
+        replaceChild(y, x);
+        x.setRight(y);
+        y.setParent(x);
+    }
+
+    private static boolean isRed(LongRBNode node) {
+        return (node != null) && (node.getColor() == RED);
+    }
+
+    private static boolean isBlack(LongRBNode node) {
+        return !isRed(node);
+    }
+
+    private static void setColor(LongRBNode node, boolean color) {
+        if (node != null) {
+            node.setColor(color);
+        }
+    }
+
+    /**
+     * 插入新节点后修补红黑树，见RBinaryTree.insertFixUp
+     *
+     * @param node
+     */
+    private void insertFixUp(LongRBNode node) {
+        LongRBNode parent, gparent;
+        while (((parent = node.getParent()) != null) && isRed(parent)) {
+            gparent = parent.getParent();
+            if (parent == gparent.getLeft()) {
+                LongRBNode uncle = gparent.getRight();
+                //case1: 叔叔节点也是红色
+                if (isRed(uncle)) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(gparent, RED);
+                    node = gparent;
+                    continue;
+                }
+                //case2: 叔叔节点是黑色，且当前节点是右子节点
+                if (node == parent.getRight()) {
+                    leftRotate(parent);
+                    LongRBNode tmp = parent;
+                    parent = node;
+                    node = tmp;
+                }
+                //case3: 叔叔节点是黑色，且当前节点是左子节点
+                setColor(parent, BLACK);
+                setColor(gparent, RED);
+                rightRotate(gparent);
+            } else {
+                LongRBNode uncle = gparent.getLeft();
+                if (isRed(uncle)) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(gparent, RED);
+                    node = gparent;
+                    continue;
+                }
+                if (node == parent.getLeft()) {
+                    rightRotate(parent);
+                    LongRBNode tmp = parent;
+                    parent = node;
+                    node = tmp;
+                }
+                setColor(parent, BLACK);
+                setColor(gparent, RED);
+                leftRotate(gparent);
+            }
+        }
+        setColor(root, BLACK);
+    }
+
+    /**
+     * 删除节点后修复红黑树，见RBinaryTree.removeFixUp
+     *
+     * @param node   待修正的节点，可以为null
+     * @param parent node的父节点
+     */
+    private void removeFixUp(LongRBNode node, LongRBNode parent) {
+        LongRBNode other;
+        while (isBlack(node) && (node != root)) {
+            if (parent.getLeft() == node) {
+                other = parent.getRight();
+                //case1: 兄弟节点是红色
+                if (isRed(other)) {
+                    setColor(other, BLACK);
+                    setColor(parent, RED);
+                    leftRotate(parent);
+                    other = parent.getRight();
+                }
+                //case2: 兄弟节点是黑色，且两个子节点都是黑色
+                if (isBlack(other.getLeft()) && isBlack(other.getRight())) {
+                    setColor(other, RED);
+                    node = parent;
+                    parent = node.getParent();
+                } else {
+                    //case3: 兄弟节点是黑色，左子节点红色，右子节点黑色
+                    if (isBlack(other.getRight())) {
+                        setColor(other.getLeft(), BLACK);
+                        setColor(other, RED);
+                        rightRotate(other);
+                        other = parent.getRight();
+                    }
+                    //case4: 兄弟节点是黑色，右子节点红色
+                    setColor(other, parent.getColor());
+                    setColor(parent, BLACK);
+                    setColor(other.getRight(), BLACK);
+                    leftRotate(parent);
+                    node = root;
+                    break;
+                }
+            } else {
+                other = parent.getLeft();
+                if (isRed(other)) {
+                    setColor(other, BLACK);
+                    setColor(parent, RED);
+                    rightRotate(parent);
+                    other = parent.getLeft();
+                }
+                if (isBlack(other.getLeft()) && isBlack(other.getRight())) {
+                    setColor(other, RED);
+                    node = parent;
+                    parent = node.getParent();
+                } else {
+                    if (isBlack(other.getLeft())) {
+                        setColor(other.getRight(), BLACK);
+                        setColor(other, RED);
+                        leftRotate(other);
+                        other = parent.getLeft();
+                    }
+                    setColor(other, parent.getColor());
+                    setColor(parent, BLACK);
+                    setColor(other.getLeft(), BLACK);
+                    rightRotate(parent);
+                    node = root;
+                    break;
+                }
+            }
+        }
+        setColor(node, BLACK);
+    }
+
+    /**
+     * 清空红黑树
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * 打印红黑树
+     */
+    public void print() {
+        if (root != null) {
+            print(root, root.getKey(), 0);
+        }
+    }
+
+    private void print(LongRBNode tree, long key, int direction) {
+        if (tree != null) {
+            if (0 == direction) {
+                System.out.printf("%2s(Black) is root\n", tree.getKey());
+            } else {
+                System.out.printf("%2s(%s) is %2s's %6s child\n",
+                        tree.getKey(), isRed(tree) ? "Red" : "Black", key, direction == 1 ? "right" : "left");
+            }
+            print(tree.getLeft(), tree.getKey(), -1);
+            print(tree.getRight(), tree.getKey(), 1);
+        }
+    }
+
+    public static void main(String[] args) {
+        LongRBTree tree = new LongRBTree();
+        long[] a = {10, 40, 30, 60, 90, 70, 20, 50, 80};
+        for (long k : a) {
+            tree.put(k, k * 0.5);
+        }
+        tree.print();
+        System.out.println("min: " + tree.minKey() + ", max: " + tree.maxKey() + ", get(60): " + tree.get(60, -1));
+        for (long k : a) {
+            tree.remove(k);
+        }
+        System.out.println("size after remove: " + tree.size());
+    }
+}
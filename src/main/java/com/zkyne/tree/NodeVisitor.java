@@ -0,0 +1,19 @@
+package com.zkyne.tree;
+
+/**
+ * @ClassName: NodeVisitor
+ * @Description: 二叉查找树遍历的回调，键和值以基本类型传入，遍历时不需要为每个节点分配对象
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 21:30
+ */
+@FunctionalInterface
+public interface NodeVisitor {
+
+    /**
+     * 访问一个节点
+     *
+     * @param key  节点的键
+     * @param data 节点的值
+     */
+    void visit(int key, double data);
+}
@@ -0,0 +1,52 @@
+package com.zkyne.tree;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @ClassName: RBMapNode
+ * @Description: RBTreeMap的节点，在红黑树节点上附带值，同时作为Map.Entry返回给调用方
+ * equals/hashCode按Map.Entry的约定只比较键和值，不比较节点身份，两棵树中键值相同的节点相等；
+ * 节点在树中时值可能被修改，不要把它作为HashMap的键或放入HashSet
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 21:00
+ */
+public class RBMapNode<K extends Comparable<K>, V> extends RBNode<K> implements Map.Entry<K, V> {
+    private V value; //值
+
+    public RBMapNode(K key, V value, boolean color) {
+        super(color, key);
+        this.value = value;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+        V old = this.value;
+        this.value = value;
+        return old;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Map.Entry)) {
+            return false;
+        }
+        Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+        return Objects.equals(getKey(), e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getKey()) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + "=" + value;
+    }
+}
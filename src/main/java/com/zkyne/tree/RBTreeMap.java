@@ -0,0 +1,410 @@
+package com.zkyne.tree;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * @ClassName: RBTreeMap
+ * @Description: 基于红黑树的有序键值表，值直接存放在节点(RBMapNode)中，一次查找即可得到值
+ * 除了put/get/remove，还支持floor/ceiling/higher/lower查询、pollFirst/pollLast，
+ * 以及headMap/tailMap/subMap区间视图；区间视图不拷贝数据，对视图的读写直接作用在原树上
+ * 键不允许重复，put已存在的键时替换其值
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 21:00
+ */
+public class RBTreeMap<K extends Comparable<K>, V> extends RBinaryTree<K> {
+    private static final boolean RED = false;
+
+    public RBTreeMap() {
+        super();
+    }
+
+    /**
+     * 以已有的树为根，树中所有节点都必须是RBMapNode
+     *
+     * @param root
+     */
+    public RBTreeMap(RBMapNode<K, V> root) {
+        super(root);
+    }
+
+    /**
+     * 替换根节点，树中所有节点都必须是RBMapNode，否则查找到普通的RBNode时无法取得值
+     *
+     * @param root
+     * @throws IllegalArgumentException 子树中存在不是RBMapNode的节点
+     */
+    @Override
+    public void setRoot(RBNode<K> root) {
+        checkEntries(root);
+        super.setRoot(root);
+    }
+
+    private void checkEntries(RBNode<K> tree) {
+        if (tree == null) {
+            return;
+        }
+        if (!(tree instanceof RBMapNode)) {
+            throw new IllegalArgumentException("node(" + tree.getKey() + ") is not a RBMapNode");
+        }
+        checkEntries(tree.getLeft());
+        checkEntries(tree.getRight());
+    }
+
+    /**
+     * 放入键值对，键已存在时替换原来的值
+     *
+     * @param key
+     * @param value
+     * @return 原来的值，键不存在时返回null
+     */
+    public V put(K key, V value) {
+        RBNode<K> current = null;
+        RBNode<K> x = getRoot();
+        while (x != null) {
+            current = x;
+            int cmp = key.compareTo(x.getKey());
+            if (cmp < 0) {
+                x = x.getLeft();
+            } else if (cmp > 0) {
+                x = x.getRight();
+            } else {
+                return entry(x).setValue(value);
+            }
+        }
+        //找到了插入位置，直接挂到current下，不再重新查找
+        insert(current, new RBMapNode<>(key, value, RED));
+        return null;
+    }
+
+    /**
+     * 插入值为null的键，键已存在时不改变树的结构
+     *
+     * @param key
+     */
+    @Override
+    public void insert(K key) {
+        put(key, null);
+    }
+
+    /**
+     * 查找key对应的值
+     *
+     * @param key
+     * @return 键不存在时返回null
+     */
+    public V get(K key) {
+        RBNode<K> node = search(key);
+        return node != null ? entry(node).getValue() : null;
+    }
+
+    public boolean containsKey(K key) {
+        return search(key) != null;
+    }
+
+    /**
+     * 删除键值为key的节点
+     *
+     * @param key
+     * @return 被删除的键值对，不存在时返回null
+     */
+    @Override
+    public RBMapNode<K, V> remove(K key) {
+        return entry(super.remove(key));
+    }
+
+    /**
+     * 小于等于key的最大键值对
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public RBMapNode<K, V> floor(K key) {
+        return entry(floorNode(key));
+    }
+
+    /**
+     * 大于等于key的最小键值对
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public RBMapNode<K, V> ceiling(K key) {
+        return entry(ceilingNode(key));
+    }
+
+    /**
+     * 大于key的最小键值对
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public RBMapNode<K, V> higher(K key) {
+        return entry(higherNode(key));
+    }
+
+    /**
+     * 小于key的最大键值对
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public RBMapNode<K, V> lower(K key) {
+        return entry(lowerNode(key));
+    }
+
+    public RBMapNode<K, V> firstEntry() {
+        return entry(minNode(getRoot()));
+    }
+
+    public RBMapNode<K, V> lastEntry() {
+        return entry(maxNode(getRoot()));
+    }
+
+    /**
+     * 删除并返回键最小的键值对
+     *
+     * @return 树为空时返回null
+     */
+    public RBMapNode<K, V> pollFirst() {
+        RBNode<K> node = minNode(getRoot());
+        if (node != null) {
+            remove(node);
+        }
+        return entry(node);
+    }
+
+    /**
+     * 删除并返回键最大的键值对
+     *
+     * @return 树为空时返回null
+     */
+    public RBMapNode<K, V> pollLast() {
+        RBNode<K> node = maxNode(getRoot());
+        if (node != null) {
+            remove(node);
+        }
+        return entry(node);
+    }
+
+    /**
+     * 键小于toKey的部分
+     *
+     * @param toKey
+     * @return
+     */
+    public Map<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    public Map<K, V> headMap(K toKey, boolean inclusive) {
+        return new RangeMap(null, false, toKey, inclusive);
+    }
+
+    /**
+     * 键大于等于fromKey的部分
+     *
+     * @param fromKey
+     * @return
+     */
+    public Map<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    public Map<K, V> tailMap(K fromKey, boolean inclusive) {
+        return new RangeMap(fromKey, inclusive, null, false);
+    }
+
+    /**
+     * 键在[fromKey, toKey)之间的部分
+     *
+     * @param fromKey
+     * @param toKey
+     * @return
+     */
+    public Map<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    public Map<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (fromKey.compareTo(toKey) > 0) {
+            throw new IllegalArgumentException("fromKey(" + fromKey + ") > toKey(" + toKey + ")");
+        }
+        return new RangeMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RBMapNode<K, V> entry(RBNode<K> node) {
+        return (RBMapNode<K, V>) node;
+    }
+
+    /**
+     * 区间视图，lo/hi为null表示该方向没有边界
+     * 查找、放入和删除都转到原树上，遍历从区间内最小的节点开始沿后继节点前进，超出上界时停止
+     * 视图不记录元素个数，size()需要遍历整个区间，时间复杂度为O(logN + 区间内的元素个数)
+     */
+    private final class RangeMap extends AbstractMap<K, V> {
+        private final K lo, hi;
+        private final boolean loInclusive, hiInclusive;
+
+        RangeMap(K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+        }
+
+        private boolean tooLow(K key) {
+            if (lo == null) {
+                return false;
+            }
+            int cmp = key.compareTo(lo);
+            return cmp < 0 || (cmp == 0 && !loInclusive);
+        }
+
+        private boolean tooHigh(K key) {
+            if (hi == null) {
+                return false;
+            }
+            int cmp = key.compareTo(hi);
+            return cmp > 0 || (cmp == 0 && !hiInclusive);
+        }
+
+        private boolean inRange(K key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        /**
+         * 区间内的第一个节点
+         *
+         * @return 区间为空时返回null
+         */
+        private RBMapNode<K, V> first() {
+            RBNode<K> node = lo == null ? minNode(getRoot()) : loInclusive ? ceilingNode(lo) : higherNode(lo);
+            return node == null || tooHigh(node.getKey()) ? null : entry(node);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            K k = (K) key;
+            return inRange(k) ? RBTreeMap.this.get(k) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object key) {
+            K k = (K) key;
+            return inRange(k) && RBTreeMap.this.containsKey(k);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key(" + key + ") out of range");
+            }
+            return RBTreeMap.this.put(key, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object key) {
+            K k = (K) key;
+            if (!inRange(k)) {
+                return null;
+            }
+            RBMapNode<K, V> node = RBTreeMap.this.remove(k);
+            return node != null ? node.getValue() : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return first() == null;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new RangeIterator(first());
+                }
+
+                /**
+                 * 逐个数出区间内的节点，O(logN + 区间内的元素个数)；只判断是否为空时用isEmpty
+                 */
+                @Override
+                public int size() {
+                    int n = 0;
+                    for (RBMapNode<K, V> node = first(); node != null; node = next(node)) {
+                        n++;
+                    }
+                    return n;
+                }
+            };
+        }
+
+        /**
+         * node在区间内的后继节点
+         *
+         * @param node
+         * @return 超出上界时返回null
+         */
+        private RBMapNode<K, V> next(RBNode<K> node) {
+            RBNode<K> s = successor(node);
+            return s == null || tooHigh(s.getKey()) ? null : entry(s);
+        }
+
+        private final class RangeIterator implements Iterator<Map.Entry<K, V>> {
+            private RBMapNode<K, V> next; //下一个返回的节点
+            private RBMapNode<K, V> last; //上一次返回的节点，用于remove
+
+            RangeIterator(RBMapNode<K, V> first) {
+                this.next = first;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = RangeMap.this.next(last);
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                //删除只改变节点间的链接，next指向的节点对象仍然有效
+                RBTreeMap.this.remove(last);
+                last = null;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        RBTreeMap<Integer, String> map = new RBTreeMap<>();
+        int[] a = {10, 40, 30, 60, 90, 70, 20, 50, 80};
+        for (int k : a) {
+            map.put(k, "v" + k);
+        }
+        System.out.println("get(60): " + map.get(60) + ", floor(55): " + map.floor(55) + ", ceiling(55): " + map.ceiling(55));
+        System.out.println("higher(60): " + map.higher(60) + ", lower(60): " + map.lower(60));
+        System.out.println("headMap(40): " + map.headMap(40) + ", tailMap(70): " + map.tailMap(70) + ", subMap(30, 60): " + map.subMap(30, 60));
+        map.subMap(30, 60).clear();
+        System.out.println("after subMap(30, 60).clear(): " + map.headMap(100));
+        System.out.println("pollFirst: " + map.pollFirst() + ", pollLast: " + map.pollLast() + ", size: " + map.size());
+    }
+}
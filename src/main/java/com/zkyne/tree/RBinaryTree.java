@@ -1,13 +1,18 @@
 package com.zkyne.tree;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
 /**
  * @ClassName: RBinaryTree
  * @Description: 红黑二叉树(基于二叉搜索树)
  * @Author: zhangkun01
  * @Date: 2018/4/8 16:11
  */
-public class RBinaryTree<T extends Comparable<T>> {
+public class RBinaryTree<T extends Comparable<T>> implements Iterable<RBNode<T>> {
     private RBNode<T> root; //根节点
+    private int size; //节点个数
     private static final boolean RED = false; //定义红黑树标志
     private static final boolean BLACK = true;
 
@@ -97,29 +102,57 @@ public class RBinaryTree<T extends Comparable<T>> {
      * 前序遍历红黑树
      */
     public void preOrder() {
-        preOrder(root);
+        preOrder(key -> System.out.print(key + " "));
     }
 
-    private void preOrder(RBNode<T> tree) {
-        if (tree != null) {
-            System.out.print(tree.getKey() + " ");
-            preOrder(tree.getLeft());
-            preOrder(tree.getRight());
+    /**
+     * 前序遍历红黑树，利用父节点指针逐个前进，不递归也不需要栈
+     *
+     * @param action
+     */
+    public void preOrder(Consumer<? super T> action) {
+        for (RBNode<T> node = root; node != null; node = preOrderNext(node)) {
+            action.accept(node.getKey());
         }
     }
 
+    /**
+     * 前序遍历中node的下一个节点：有子节点时取第一个子节点，
+     * 否则向上回溯，直到从某个有右子节点的父节点的左子树返回，下一个节点就是这个右子节点
+     *
+     * @param node
+     * @return
+     */
+    private RBNode<T> preOrderNext(RBNode<T> node) {
+        if (node.getLeft() != null) {
+            return node.getLeft();
+        }
+        if (node.getRight() != null) {
+            return node.getRight();
+        }
+        RBNode<T> p = node.getParent();
+        while ((p != null) && (node == p.getRight() || p.getRight() == null)) {
+            node = p;
+            p = node.getParent();
+        }
+        return p != null ? p.getRight() : null;
+    }
+
     /**
      * 中序遍历红黑树
      */
     public void inOrder() {
-        inOrder(root);
+        inOrder(key -> System.out.print(key + " "));
     }
 
-    private void inOrder(RBNode<T> tree) {
-        if (tree != null) {
-            preOrder(tree.getLeft());
-            System.out.print(tree.getKey() + " ");
-            preOrder(tree.getRight());
+    /**
+     * 中序遍历红黑树，从最小节点开始沿后继节点前进
+     *
+     * @param action
+     */
+    public void inOrder(Consumer<? super T> action) {
+        for (RBNode<T> node = minNode(root); node != null; node = successor(node)) {
+            action.accept(node.getKey());
         }
     }
 
@@ -127,14 +160,125 @@ public class RBinaryTree<T extends Comparable<T>> {
      * 后序遍历红黑树
      */
     public void postOrder() {
-        postOrder(root);
+        postOrder(key -> System.out.print(key + " "));
     }
 
-    private void postOrder(RBNode<T> tree) {
-        if (tree != null) {
-            preOrder(tree.getLeft());
-            preOrder(tree.getRight());
-            System.out.print(tree.getKey() + " ");
+    /**
+     * 后序遍历红黑树，利用父节点指针逐个前进
+     *
+     * @param action
+     */
+    public void postOrder(Consumer<? super T> action) {
+        for (RBNode<T> node = deepest(root); node != null; node = postOrderNext(node)) {
+            action.accept(node.getKey());
+        }
+    }
+
+    /**
+     * 后序遍历中node的下一个节点：node是左子节点且父节点有右子树时，取右子树中后序的第一个节点，否则就是父节点
+     *
+     * @param node
+     * @return
+     */
+    private RBNode<T> postOrderNext(RBNode<T> node) {
+        RBNode<T> p = node.getParent();
+        if (p != null && node == p.getLeft() && p.getRight() != null) {
+            return deepest(p.getRight());
+        }
+        return p;
+    }
+
+    /**
+     * 从tree开始沿左子节点(没有时沿右子节点)走到叶子，即子树后序遍历的第一个节点
+     *
+     * @param tree
+     * @return
+     */
+    private RBNode<T> deepest(RBNode<T> tree) {
+        if (tree == null) {
+            return null;
+        }
+        while (true) {
+            if (tree.getLeft() != null) {
+                tree = tree.getLeft();
+            } else if (tree.getRight() != null) {
+                tree = tree.getRight();
+            } else {
+                return tree;
+            }
+        }
+    }
+
+    /**
+     * 按键升序的迭代器，沿后继节点前进，只分配迭代器本身
+     * 迭代器的remove会删除上一次返回的节点
+     *
+     * @return
+     */
+    @Override
+    public Iterator<RBNode<T>> iterator() {
+        return new InOrderIterator(minNode(root), null);
+    }
+
+    /**
+     * 按键升序返回键在[from, to)之间的节点
+     *
+     * @param from 下界(包含)
+     * @param to   上界(不包含)
+     * @return
+     */
+    public Iterator<RBNode<T>> rangeIterator(T from, T to) {
+        //键值相同的节点可能有多个，从根向下找到第一个不小于from的节点
+        RBNode<T> x = root, first = null;
+        while (x != null) {
+            if (from.compareTo(x.getKey()) <= 0) {
+                first = x;
+                x = x.getLeft();
+            } else {
+                x = x.getRight();
+            }
+        }
+        return new InOrderIterator(first, to);
+    }
+
+    private final class InOrderIterator implements Iterator<RBNode<T>> {
+        private final T to; //上界(不包含)，为null时没有上界
+        private RBNode<T> next; //下一个返回的节点
+        private RBNode<T> last; //上一次返回的节点，用于remove
+
+        InOrderIterator(RBNode<T> first, T to) {
+            this.to = to;
+            this.next = inRange(first) ? first : null;
+        }
+
+        private boolean inRange(RBNode<T> node) {
+            return node != null && (to == null || node.getKey().compareTo(to) < 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public RBNode<T> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            RBNode<T> s = successor(next);
+            next = inRange(s) ? s : null;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            //删除只改变节点间的链接，next指向的节点对象仍然有效
+            RBinaryTree.this.remove(last);
+            last = null;
         }
     }
 
@@ -156,7 +300,7 @@ public class RBinaryTree<T extends Comparable<T>> {
      * @param key
      * @return
      */
-    private RBNode<T> search(RBNode<T> x, T key) {
+    protected RBNode<T> search(RBNode<T> x, T key) {
         while (x != null) {
             int cmp = key.compareTo(x.getKey());
             if (cmp < 0) {
@@ -204,7 +348,7 @@ public class RBinaryTree<T extends Comparable<T>> {
         return null;
     }
 
-    private RBNode<T> minNode(RBNode<T> tree) {
+    protected RBNode<T> minNode(RBNode<T> tree) {
         if (tree == null) {
             return null;
         }
@@ -227,7 +371,7 @@ public class RBinaryTree<T extends Comparable<T>> {
         return null;
     }
 
-    private RBNode<T> maxNode(RBNode<T> tree) {
+    protected RBNode<T> maxNode(RBNode<T> tree) {
         if (tree == null) {
             return null;
         }
@@ -281,6 +425,82 @@ public class RBinaryTree<T extends Comparable<T>> {
         return p; //对应情况1
     }
 
+    /**
+     * 查找小于等于key的最大节点，不存在时返回null
+     * 从根向下查找，key不在树中时最后经过的节点与key相邻，再根据大小关系取它本身或它的前驱节点
+     *
+     * @param key
+     * @return
+     */
+    public RBNode<T> floorNode(T key) {
+        RBNode<T> x = root, last = null;
+        int cmp = 0;
+        while (x != null) {
+            last = x;
+            cmp = key.compareTo(x.getKey());
+            if (cmp == 0) {
+                return x;
+            }
+            x = cmp < 0 ? x.getLeft() : x.getRight();
+        }
+        if (last == null) {
+            return null;
+        }
+        return cmp > 0 ? last : predecessor(last);
+    }
+
+    /**
+     * 查找大于等于key的最小节点，不存在时返回null
+     *
+     * @param key
+     * @return
+     */
+    public RBNode<T> ceilingNode(T key) {
+        RBNode<T> x = root, last = null;
+        int cmp = 0;
+        while (x != null) {
+            last = x;
+            cmp = key.compareTo(x.getKey());
+            if (cmp == 0) {
+                return x;
+            }
+            x = cmp < 0 ? x.getLeft() : x.getRight();
+        }
+        if (last == null) {
+            return null;
+        }
+        return cmp < 0 ? last : successor(last);
+    }
+
+    /**
+     * 查找大于key的最小节点，不存在时返回null
+     *
+     * @param key
+     * @return
+     */
+    public RBNode<T> higherNode(T key) {
+        RBNode<T> node = ceilingNode(key);
+        //键值相同的节点可能有多个，跳过所有等于key的节点
+        while (node != null && key.compareTo(node.getKey()) == 0) {
+            node = successor(node);
+        }
+        return node;
+    }
+
+    /**
+     * 查找小于key的最大节点，不存在时返回null
+     *
+     * @param key
+     * @return
+     */
+    public RBNode<T> lowerNode(T key) {
+        RBNode<T> node = floorNode(key);
+        while (node != null && key.compareTo(node.getKey()) == 0) {
+            node = predecessor(node);
+        }
+        return node;
+    }
+
     /*************对红黑树节点x进行左旋操作 ******************
      * 左旋示意图：对节点x进行左旋
      *     p                       p
@@ -372,7 +592,7 @@ public class RBinaryTree<T extends Comparable<T>> {
     }
 
     //将节点插入到红黑树中，这个过程与二叉搜索树是一样的
-    private void insert(RBNode<T> node) {
+    protected void insert(RBNode<T> node) {
         RBNode<T> current = null; //表示最后node的父节点
         RBNode<T> x = this.root; //用来向下搜索用的
 
@@ -386,6 +606,17 @@ public class RBinaryTree<T extends Comparable<T>> {
                 x = x.getRight();
             }
         }
+        insert(current, node);
+    }
+
+    /**
+     * 把node挂到current下(current为null时作为根节点)，然后修整红黑树
+     * 已经找到插入位置的子类可以直接调用，避免重复查找
+     *
+     * @param current 插入位置的父节点
+     * @param node
+     */
+    protected void insert(RBNode<T> current, RBNode<T> node) {
         node.setParent(current);//找到了位置，将当前current作为node的父节点
 
         //2. 接下来判断node是插在左子节点还是右子节点
@@ -400,6 +631,8 @@ public class RBinaryTree<T extends Comparable<T>> {
             this.root = node;
         }
 
+        size++;
+
         //3. 将它重新修整为一颗红黑树
         insertFixUp(node);
     }
@@ -476,17 +709,25 @@ public class RBinaryTree<T extends Comparable<T>> {
      * 删除红黑树中的节点
      *
      * @param key
+     * @return 被删除的节点，不存在时返回null
      */
-    public void remove(T key) {
+    public RBNode<T> remove(T key) {
         RBNode<T> node;
         if ((node = search(root, key)) != null) {
             remove(node);
         }
+        return node;
     }
 
-    private void remove(RBNode<T> node) {
+    /**
+     * 删除树中的节点node，其他节点只改变链接，不会改变所在的对象
+     *
+     * @param node
+     */
+    protected void remove(RBNode<T> node) {
         RBNode<T> child, parent;
         boolean color;
+        size--;
 
         //1. 被删除的节点“左右子节点都不为空”的情况
         if ((node.getLeft() != null) && (node.getRight() != null)) {
@@ -527,11 +768,27 @@ public class RBinaryTree<T extends Comparable<T>> {
             replace.setColor(node.getColor());//保持原来位置的颜色
             replace.setLeft(node.getLeft());
             node.getLeft().setParent(replace);
-
-            if (color == BLACK) { //4. 如果移走的后继节点颜色是黑色，重新修整红黑树
-                removeFixUp(child, parent);//将后继节点的child和parent传进去
+        } else {
+            //2. 被删除的节点最多有一个子节点，用子节点直接取代它的位置
+            child = node.getLeft() != null ? node.getLeft() : node.getRight();
+            parent = parentOf(node);
+            color = colorOf(node);
+            setParent(child, parent);
+            if (parent == null) {
+                this.root = child;
+            } else if (node == parent.getLeft()) {
+                parent.setLeft(child);
+            } else {
+                parent.setRight(child);
             }
-            node = null;
+        }
+        //断开被删除节点的链接
+        node.setParent(null);
+        node.setLeft(null);
+        node.setRight(null);
+
+        if (color == BLACK) { //3. 如果移走的节点颜色是黑色，重新修整红黑树
+            removeFixUp(child, parent);//将移走节点的child和parent传进去
         }
     }
 
@@ -623,6 +880,20 @@ public class RBinaryTree<T extends Comparable<T>> {
     public void clear() {
         destroy(root);
         root = null;
+        size = 0;
+    }
+
+    /**
+     * 节点个数
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
     }
 
     private void destroy(RBNode<T> tree) {
@@ -673,7 +944,7 @@ public class RBinaryTree<T extends Comparable<T>> {
     }
 
     public RBinaryTree(RBNode<T> root) {
-        this.root = root;
+        setRoot(root);
     }
 
     public RBNode<T> getRoot() {
@@ -682,5 +953,10 @@ public class RBinaryTree<T extends Comparable<T>> {
 
     public void setRoot(RBNode<T> root) {
         this.root = root;
+        this.size = count(root);
+    }
+
+    private int count(RBNode<T> tree) {
+        return tree == null ? 0 : 1 + count(tree.getLeft()) + count(tree.getRight());
     }
 }
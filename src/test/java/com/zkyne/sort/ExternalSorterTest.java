@@ -0,0 +1,127 @@
+package com.zkyne.sort;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @ClassName: ExternalSorterTest
+ * @Description: 外部排序：输出有序且元素与输入一致，临时顺串文件在结束后被删除
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:30
+ */
+public class ExternalSorterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File tempDir;
+    private File input;
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = folder.newFolder("runs");
+        input = folder.newFile("input.bin");
+        output = folder.newFile("output.bin");
+    }
+
+    @Test
+    public void sortIntsWithMultiplePasses() throws IOException {
+        int[] data = new Random(17).ints(100_000).toArray();
+        writeInts(data);
+        // 每个顺串1000条记录，共100个顺串，每趟最多归并4路，需要多趟归并
+        new ExternalSorter(1 << 20, 1000, 4, tempDir).sortInts(input, output);
+        Arrays.sort(data);
+        assertArrayEquals(data, readInts());
+        assertEquals(0, tempDir.list().length);
+    }
+
+    @Test
+    public void sortLongsWithMultiplePasses() throws IOException {
+        long[] data = new Random(17).longs(50_000).toArray();
+        writeLongs(data);
+        new ExternalSorter(1 << 20, 700, 3, tempDir).sortLongs(input, output);
+        Arrays.sort(data);
+        assertArrayEquals(data, readLongs());
+        assertEquals(0, tempDir.list().length);
+    }
+
+    @Test
+    public void sortSingleRun() throws IOException {
+        int[] data = new Random(17).ints(10_000, -100, 100).toArray();
+        writeInts(data);
+        new ExternalSorter(1 << 20, Integer.MAX_VALUE, 64, tempDir).sortInts(input, output);
+        Arrays.sort(data);
+        assertArrayEquals(data, readInts());
+        assertEquals(0, tempDir.list().length);
+    }
+
+    @Test
+    public void sortRunsWithinFanIn() throws IOException {
+        long[] data = new Random(17).longs(10_000).toArray();
+        writeLongs(data);
+        // 10个顺串，一趟归并即可
+        new ExternalSorter(1 << 20, 1000, 16, tempDir).sortLongs(input, output);
+        Arrays.sort(data);
+        assertArrayEquals(data, readLongs());
+        assertEquals(0, tempDir.list().length);
+    }
+
+    @Test
+    public void sortEmptyInput() throws IOException {
+        new ExternalSorter(1 << 20, 1000, 4, tempDir).sortInts(input, output);
+        assertEquals(0, output.length());
+        new ExternalSorter(1 << 20, 1000, 4, tempDir).sortLongs(input, output);
+        assertEquals(0, output.length());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectPartialIntRecord() throws IOException {
+        Files.write(input.toPath(), new byte[7]);
+        new ExternalSorter().sortInts(input, output);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectPartialLongRecord() throws IOException {
+        Files.write(input.toPath(), new byte[12]);
+        new ExternalSorter().sortLongs(input, output);
+    }
+
+    private void writeInts(int[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(data.length * Integer.BYTES);
+        buffer.asIntBuffer().put(data);
+        Files.write(input.toPath(), buffer.array());
+    }
+
+    private void writeLongs(long[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(data.length * Long.BYTES);
+        buffer.asLongBuffer().put(data);
+        Files.write(input.toPath(), buffer.array());
+    }
+
+    private int[] readInts() throws IOException {
+        byte[] bytes = Files.readAllBytes(output.toPath());
+        int[] result = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(result);
+        return result;
+    }
+
+    private long[] readLongs() throws IOException {
+        byte[] bytes = Files.readAllBytes(output.toPath());
+        long[] result = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(result);
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.zkyne.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @ClassName: KWayMergerTest
+ * @Description: 多路归并：与拼接后整体排序的结果比较，包括空数组、去重和迭代器
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:30
+ */
+public class KWayMergerTest {
+
+    private static int[][] sortedInts(Random random, int k) {
+        int[][] arrays = new int[k][];
+        for (int i = 0; i < k; i++) {
+            // 值域较小，保证各路之间有重复元素
+            arrays[i] = random.ints(random.nextInt(200), -50, 50).sorted().toArray();
+        }
+        return arrays;
+    }
+
+    private static int[] concatSorted(int[][] arrays) {
+        return Arrays.stream(arrays).flatMapToInt(IntStream::of).sorted().toArray();
+    }
+
+    @Test
+    public void mergeInts() {
+        Random random = new Random(17);
+        for (int k : new int[]{1, 2, 3, 7, 64}) {
+            int[][] arrays = sortedInts(random, k);
+            int[] expected = concatSorted(arrays);
+            assertArrayEquals(expected, KWayMerger.merge(arrays));
+            assertArrayEquals(IntStream.of(expected).distinct().toArray(), KWayMerger.merge(arrays, true));
+        }
+    }
+
+    @Test
+    public void mergeLongs() {
+        Random random = new Random(17);
+        long[][] arrays = new long[9][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = random.longs(random.nextInt(300), -100, 100).sorted().toArray();
+        }
+        long[] expected = Arrays.stream(arrays).flatMapToLong(LongStream::of).sorted().toArray();
+        assertArrayEquals(expected, KWayMerger.merge(arrays));
+        assertArrayEquals(LongStream.of(expected).distinct().toArray(), KWayMerger.merge(arrays, true));
+    }
+
+    @Test
+    public void mergeEmpty() {
+        assertEquals(0, KWayMerger.merge(new int[0][]).length);
+        assertEquals(0, KWayMerger.merge(new int[][]{{}, {}, {}}).length);
+        assertFalse(KWayMerger.iterator(new int[][]{{}, {}}, false).hasNext());
+    }
+
+    @Test
+    public void mergeSlices() {
+        int[][] arrays = {{1, 3, 5, 7, 9}, {2, 4, 6, 8}, {0, 10}};
+        int[] out = new int[16];
+        int n = KWayMerger.merge(arrays, new int[]{1, 0, 0}, new int[]{4, 2, 1}, false, out, 2);
+        assertArrayEquals(new int[]{0, 2, 3, 4, 5, 7}, Arrays.copyOfRange(out, 2, 2 + n));
+    }
+
+    @Test
+    public void iterateInBatches() {
+        int[][] arrays = sortedInts(new Random(5), 10);
+        int[] expected = concatSorted(arrays);
+        KWayMerger.IntMergeIterator it = KWayMerger.iterator(arrays, false);
+        int[] got = new int[expected.length];
+        int n = 0, m;
+        while ((m = it.fill(got, n, 7)) > 0) {
+            n += m;
+        }
+        assertEquals(expected.length, n);
+        assertArrayEquals(expected, got);
+    }
+}
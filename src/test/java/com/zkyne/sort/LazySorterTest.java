@@ -0,0 +1,69 @@
+package com.zkyne.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @ClassName: LazySorterTest
+ * @Description: 延迟排序：逐个或批量取出的序列与整体排序的结果一致
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:30
+ */
+public class LazySorterTest {
+
+    @Test
+    public void iterateAll() {
+        Random random = new Random(17);
+        for (int n : new int[]{0, 1, 2, 15, 16, 17, 1000, 100_000}) {
+            int[] arr = random.ints(n, 0, Math.max(n / 4, 1)).toArray();
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            LazySorter sorter = new LazySorter(arr);
+            int[] got = new int[n];
+            for (int i = 0; i < n; i++) {
+                got[i] = sorter.nextInt();
+            }
+            assertFalse(sorter.hasNext());
+            assertArrayEquals(expected, got);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    public void topKOnlyPartiallySorts() {
+        int[] arr = new Random(17).ints(10_000).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        LazySorter sorter = new LazySorter(arr);
+        int[] top = new int[100];
+        assertEquals(100, sorter.fill(top, 0, 100));
+        assertEquals(100, sorter.position());
+        assertArrayEquals(Arrays.copyOf(expected, 100), top);
+    }
+
+    @Test
+    public void sortSubRange() {
+        int[] arr = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        LazySorter sorter = new LazySorter(arr, 2, 6);
+        int[] got = new int[5];
+        assertEquals(5, sorter.fill(got, 0, 10));
+        assertArrayEquals(new int[]{3, 4, 5, 6, 7}, got);
+        // 区间外的元素不变
+        assertEquals(9, arr[0]);
+        assertEquals(0, arr[9]);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void exhausted() {
+        LazySorter sorter = new LazySorter(new int[]{1});
+        sorter.nextInt();
+        sorter.nextInt();
+    }
+}
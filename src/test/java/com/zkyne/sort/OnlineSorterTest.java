@@ -0,0 +1,119 @@
+package com.zkyne.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName: OnlineSorterTest
+ * @Description: 在线排序：任意时刻的快照和迭代器都是已追加数据的有序结果，段数保持在O(fanOut·logN)
+ * @Author: zkyne
+ * @Date: 2026/10/17 22:30
+ */
+public class OnlineSorterTest {
+
+    @Test
+    public void snapshotAfterEachBatch() {
+        Random random = new Random(17);
+        OnlineSorter sorter = new OnlineSorter();
+        int[] all = new int[0];
+        for (int b = 0; b < 200; b++) {
+            int[] batch = random.ints(random.nextInt(50)).toArray();
+            sorter.add(batch);
+            int[] next = Arrays.copyOf(all, all.length + batch.length);
+            System.arraycopy(batch, 0, next, all.length, batch.length);
+            all = next;
+            int[] expected = all.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.snapshot());
+            assertEquals(all.length, sorter.size());
+        }
+        // 4路合并时段数不超过每层3个
+        assertTrue(sorter.runCount() <= 3 * 8);
+    }
+
+    @Test
+    public void iteratorIgnoresLaterBatches() {
+        OnlineSorter sorter = new OnlineSorter();
+        sorter.add(new int[]{5, 1, 3});
+        KWayMerger.IntMergeIterator it = sorter.iterator();
+        sorter.add(new int[]{0, 2});
+        int[] got = new int[3];
+        assertEquals(3, it.fill(got, 0, 10));
+        assertArrayEquals(new int[]{1, 3, 5}, got);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5}, sorter.snapshot());
+    }
+
+    @Test
+    public void addSliceCopiesBatch() {
+        OnlineSorter sorter = new OnlineSorter();
+        int[] batch = {9, 4, 7, 1};
+        sorter.add(batch, 1, 2);
+        batch[1] = 100;
+        assertArrayEquals(new int[]{4, 7}, sorter.snapshot());
+    }
+
+    @Test
+    public void compactInBackground() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            OnlineSorter sorter = new OnlineSorter(2, executor);
+            Random random = new Random(17);
+            int[] all = random.ints(10_000).toArray();
+            for (int i = 0; i < all.length; i += 100) {
+                sorter.add(all, i, 100);
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            Arrays.sort(all);
+            assertArrayEquals(all, sorter.snapshot());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void recoverFromRejectedCompaction() {
+        int[] rejections = {1};
+        int[] executions = {0};
+        // 第一次提交时拒绝，之后在当前线程中执行
+        Executor executor = task -> {
+            if (rejections[0]-- > 0) {
+                throw new RejectedExecutionException();
+            }
+            executions[0]++;
+            task.run();
+        };
+        OnlineSorter sorter = new OnlineSorter(2, executor);
+        sorter.add(new int[]{3});
+        try {
+            sorter.add(new int[]{1});
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // 批次已经加入
+            assertEquals(2, sorter.size());
+        }
+        for (int i = 0; i < 64; i++) {
+            sorter.add(new int[]{i});
+        }
+        assertTrue(executions[0] > 0);
+        assertTrue(sorter.runCount() <= 8);
+        assertEquals(66, sorter.snapshot().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectSmallFanOut() {
+        new OnlineSorter(1, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.zkyne.tree;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.zkyne.tree.ArrayBinarySearchTree.NIL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName: ArrayBinarySearchTreeTest
+ * @Description: 数组存储的AVL树：随机插入删除后与TreeMap比较，检查链接、高度和空闲下标的复用
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 22:40
+ */
+public class ArrayBinarySearchTreeTest {
+
+    /**
+     * 检查以node为根的子树满足AVL性质，返回子树高度
+     */
+    private static int checkAvl(ArrayBinarySearchTree tree, int node, int parent) {
+        if (node == NIL) {
+            return 0;
+        }
+        assertEquals(parent, tree.getParent(node));
+        int left = checkAvl(tree, tree.getLeftChild(node), node);
+        int right = checkAvl(tree, tree.getRightChild(node), node);
+        assertTrue(Math.abs(left - right) <= 1);
+        int height = Math.max(left, right) + 1;
+        assertEquals(height, tree.getHeight(node));
+        return height;
+    }
+
+    @Test
+    public void randomInsertDelete() {
+        Random random = new Random(17);
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree(4);
+        TreeMap<Integer, Double> expected = new TreeMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(10_000);
+            if (random.nextInt(3) > 0) {
+                if (!expected.containsKey(key)) {
+                    int node = tree.insert(key, key * 0.5);
+                    assertEquals(key, tree.getKey(node));
+                    expected.put(key, key * 0.5);
+                }
+            } else {
+                assertEquals(expected.remove(key) != null, tree.delete(key));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        checkAvl(tree, tree.getRoot(), NIL);
+        for (int key = 0; key < 10_000; key++) {
+            int node = tree.find(key);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.get(key), tree.getData(node), 0D);
+            } else {
+                assertEquals(NIL, node);
+            }
+        }
+        assertEquals((int) expected.firstKey(), tree.getKey(tree.minNumber()));
+        assertEquals((int) expected.lastKey(), tree.getKey(tree.maxNumber()));
+    }
+
+    @Test
+    public void sortedInsertStaysBalanced() {
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree();
+        for (int i = 0; i < 1 << 16; i++) {
+            tree.insert(i, i);
+        }
+        assertTrue(checkAvl(tree, tree.getRoot(), NIL) <= 1.44 * 16 + 1);
+    }
+
+    @Test
+    public void reuseFreedSlots() {
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree(8);
+        for (int i = 0; i < 8; i++) {
+            tree.insert(i, i);
+        }
+        long memory = tree.memoryUsage();
+        int slot = tree.find(3);
+        assertTrue(tree.delete(3));
+        assertEquals(slot, tree.insert(100, 1D));
+        assertEquals(memory, tree.memoryUsage());
+        assertEquals(8, tree.size());
+    }
+
+    @Test
+    public void deleteUntilEmpty() {
+        ArrayBinarySearchTree tree = new ArrayBinarySearchTree();
+        for (int i = 0; i < 100; i++) {
+            tree.insert(i * 7 % 100, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(tree.delete(i));
+            checkAvl(tree, tree.getRoot(), NIL);
+        }
+        assertTrue(tree.isEmpty());
+        assertEquals(NIL, tree.getRoot());
+        assertFalse(tree.delete(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectZeroCapacity() {
+        new ArrayBinarySearchTree(0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.zkyne.tree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName: BinarySearchTreeTest
+ * @Description: AVL模式：随机插入删除后与TreeMap比较，并检查每个节点的高度和平衡因子
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 22:40
+ */
+public class BinarySearchTreeTest {
+
+    /**
+     * 检查以node为根的子树满足AVL性质，返回子树高度
+     */
+    private static int checkAvl(BNode node, BNode parent) {
+        if (node == null) {
+            return 0;
+        }
+        assertTrue(node.getParent() == parent);
+        int left = checkAvl(node.getLeftChild(), node);
+        int right = checkAvl(node.getRightChild(), node);
+        assertTrue("node " + node.getKey() + " unbalanced", Math.abs(left - right) <= 1);
+        int height = Math.max(left, right) + 1;
+        assertEquals(height, node.getHeight());
+        return height;
+    }
+
+    private static List<Integer> keys(BinarySearchTree tree) {
+        List<Integer> keys = new ArrayList<>();
+        tree.forEach((key, data) -> keys.add(key));
+        return keys;
+    }
+
+    @Test
+    public void sortedInsertStaysBalanced() {
+        BinarySearchTree tree = new BinarySearchTree(true);
+        int n = 1 << 16;
+        for (int i = 0; i < n; i++) {
+            tree.insert(i, i);
+        }
+        int height = checkAvl(tree.getRoot(), null);
+        assertTrue(height <= 1.44 * 16 + 1);
+        assertEquals(n - 1, tree.maxNumber().getKey());
+        assertEquals(0, tree.minNumber().getKey());
+    }
+
+    @Test
+    public void randomInsertDelete() {
+        Random random = new Random(17);
+        BinarySearchTree tree = new BinarySearchTree(true);
+        TreeMap<Integer, Double> expected = new TreeMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                if (!expected.containsKey(key)) {
+                    tree.insert(key, key * 0.5);
+                    expected.put(key, key * 0.5);
+                }
+            } else {
+                assertEquals(expected.remove(key) != null, tree.delete(key));
+            }
+        }
+        checkAvl(tree.getRoot(), null);
+        assertEquals(new ArrayList<>(expected.keySet()), keys(tree));
+        for (int key = 0; key < 5_000; key++) {
+            BNode node = tree.find(key);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.get(key), node.getData(), 0D);
+            } else {
+                assertNull(node);
+            }
+        }
+    }
+
+    @Test
+    public void deleteUntilEmpty() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            keys.add(i);
+        }
+        Collections.shuffle(keys, new Random(17));
+        BinarySearchTree tree = new BinarySearchTree(true);
+        for (int key : keys) {
+            tree.insert(key, key);
+        }
+        Collections.shuffle(keys, new Random(18));
+        for (int key : keys) {
+            assertTrue(tree.delete(key));
+            checkAvl(tree.getRoot(), null);
+        }
+        assertNull(tree.getRoot());
+        assertFalse(tree.delete(0));
+    }
+
+    @Test
+    public void unbalancedModeKeepsInsertionShape() {
+        BinarySearchTree tree = new BinarySearchTree();
+        for (int i = 0; i < 10; i++) {
+            tree.insert(i, i);
+        }
+        assertFalse(tree.isBalanced());
+        assertEquals(0, tree.getRoot().getKey());
+        assertEquals(9, tree.maxNumber().getKey());
+    }
+}
@@ -0,0 +1,110 @@
+package com.zkyne.tree;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName: LongRBTreeTest
+ * @Description: long键红黑树：随机操作后与TreeMap比较，并检查红黑树性质
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 22:50
+ */
+public class LongRBTreeTest {
+
+    private static final boolean RED = false;
+
+    /**
+     * 检查以node为根的子树满足红黑树性质，返回黑高
+     */
+    private static int checkRedBlack(LongRBNode node, LongRBNode parent) {
+        if (node == null) {
+            return 1;
+        }
+        assertTrue(node.getParent() == parent);
+        if (node.getColor() == RED) {
+            assertTrue(parent != null && parent.getColor() != RED);
+        }
+        if (node.getLeft() != null) {
+            assertTrue(node.getLeft().getKey() <= node.getKey());
+        }
+        if (node.getRight() != null) {
+            assertTrue(node.getRight().getKey() >= node.getKey());
+        }
+        int left = checkRedBlack(node.getLeft(), node);
+        assertEquals(left, checkRedBlack(node.getRight(), node));
+        return left + (node.getColor() == RED ? 0 : 1);
+    }
+
+    @Test
+    public void randomPutRemove() {
+        Random random = new Random(17);
+        LongRBTree tree = new LongRBTree();
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(10_000) - 5_000 + (1L << 40);
+            if (random.nextInt(3) > 0) {
+                tree.put(key, i);
+                expected.put(key, (double) i);
+            } else {
+                assertEquals(expected.remove(key) != null, tree.remove(key));
+            }
+        }
+        checkRedBlack(tree.getRoot(), null);
+        assertEquals(expected.size(), tree.size());
+        for (long key = (1L << 40) - 5_000; key < (1L << 40) + 5_000; key++) {
+            assertEquals(expected.containsKey(key), tree.contains(key));
+            assertEquals(expected.getOrDefault(key, -1D), tree.get(key, -1D), 0D);
+        }
+        assertEquals((long) expected.firstKey(), tree.minKey());
+        assertEquals((long) expected.lastKey(), tree.maxKey());
+    }
+
+    @Test
+    public void walkSuccessors() {
+        LongRBTree tree = new LongRBTree();
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 1_000; i++) {
+            long key = random.nextLong();
+            tree.put(key, i);
+            expected.put(key, (double) i);
+        }
+        LongRBNode node = tree.search(tree.minKey());
+        for (Map.Entry<Long, Double> e : expected.entrySet()) {
+            assertEquals((long) e.getKey(), node.getKey());
+            assertEquals(e.getValue(), node.getValue(), 0D);
+            node = tree.successor(node);
+        }
+        assertNull(node);
+        assertNull(tree.predecessor(tree.search(tree.minKey())));
+    }
+
+    @Test
+    public void insertKeepsDuplicates() {
+        LongRBTree tree = new LongRBTree();
+        for (int i = 0; i < 10; i++) {
+            tree.insert(7, i);
+        }
+        checkRedBlack(tree.getRoot(), null);
+        assertEquals(10, tree.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(tree.remove(7));
+        }
+        assertFalse(tree.contains(7));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void minKeyOfEmptyTree() {
+        new LongRBTree().minKey();
+    }
+}
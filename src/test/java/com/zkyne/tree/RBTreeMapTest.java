@@ -0,0 +1,162 @@
+package com.zkyne.tree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName: RBTreeMapTest
+ * @Description: 红黑树映射：随机操作、邻近查找和区间视图与TreeMap的结果比较
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 22:50
+ */
+public class RBTreeMapTest {
+
+    private static final int KEYS = 2_000;
+
+    private static Integer key(Map.Entry<Integer, String> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    private static RBTreeMap<Integer, String> fill(TreeMap<Integer, String> expected) {
+        Random random = new Random(17);
+        RBTreeMap<Integer, String> map = new RBTreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            int k = random.nextInt(KEYS);
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.put(k, "v" + i), map.put(k, "v" + i));
+            } else {
+                assertEquals(expected.remove(k), map.containsKey(k) ? map.remove(k).getValue() : null);
+            }
+        }
+        return map;
+    }
+
+    @Test
+    public void randomPutRemove() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        RBTreeMap<Integer, String> map = fill(expected);
+        assertEquals(expected.size(), map.size());
+        for (int k = 0; k < KEYS; k++) {
+            assertEquals(expected.get(k), map.get(k));
+            assertEquals(expected.containsKey(k), map.containsKey(k));
+        }
+        assertEquals(expected.firstKey(), key(map.firstEntry()));
+        assertEquals(expected.lastKey(), key(map.lastEntry()));
+    }
+
+    @Test
+    public void navigation() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        RBTreeMap<Integer, String> map = fill(expected);
+        for (int k = -1; k <= KEYS; k++) {
+            assertEquals(expected.floorKey(k), key(map.floor(k)));
+            assertEquals(expected.ceilingKey(k), key(map.ceiling(k)));
+            assertEquals(expected.higherKey(k), key(map.higher(k)));
+            assertEquals(expected.lowerKey(k), key(map.lower(k)));
+        }
+    }
+
+    @Test
+    public void pollUntilEmpty() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        RBTreeMap<Integer, String> map = fill(expected);
+        while (!expected.isEmpty()) {
+            assertEquals(expected.pollFirstEntry(), map.pollFirst());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.pollLastEntry(), map.pollLast());
+            }
+        }
+        assertTrue(map.isEmpty());
+        assertNull(map.pollFirst());
+        assertNull(map.firstEntry());
+    }
+
+    @Test
+    public void rangeViews() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        RBTreeMap<Integer, String> map = fill(expected);
+        int[][] bounds = {{0, KEYS}, {100, 200}, {500, 500}, {1999, 2500}, {-10, 5}};
+        for (int[] b : bounds) {
+            for (boolean loInclusive : new boolean[]{true, false}) {
+                for (boolean hiInclusive : new boolean[]{true, false}) {
+                    assertEquals(expected.subMap(b[0], loInclusive, b[1], hiInclusive),
+                            map.subMap(b[0], loInclusive, b[1], hiInclusive));
+                }
+            }
+            assertEquals(expected.headMap(b[1]), map.headMap(b[1]));
+            assertEquals(expected.tailMap(b[0]), map.tailMap(b[0]));
+            assertEquals(new ArrayList<>(expected.tailMap(b[0]).keySet()),
+                    new ArrayList<>(map.tailMap(b[0]).keySet()));
+        }
+    }
+
+    @Test
+    public void rangeViewWritesThrough() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        RBTreeMap<Integer, String> map = fill(expected);
+        Map<Integer, String> view = map.subMap(300, 700);
+        Iterator<Map.Entry<Integer, String>> it = view.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey() % 2 == 0) {
+                it.remove();
+            }
+        }
+        expected.subMap(300, 700).keySet().removeIf(k -> k % 2 == 0);
+        assertEquals(expected, toTreeMap(map));
+        assertEquals(expected.size(), map.size());
+
+        view.put(301, "x");
+        assertEquals("x", map.get(301));
+        assertNull(view.get(100));
+        assertFalse(view.containsKey(800));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeViewRejectsOutOfRangePut() {
+        new RBTreeMap<Integer, String>().headMap(10).put(10, "x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectPlainRoot() {
+        new RBTreeMap<Integer, String>().setRoot(new RBNode<>(true, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectPlainNodeInSubtree() {
+        RBMapNode<Integer, String> root = new RBMapNode<>(2, "b", true);
+        RBNode<Integer> left = new RBNode<>(false, 1);
+        left.setParent(root);
+        root.setLeft(left);
+        new RBTreeMap<>(root);
+    }
+
+    @Test
+    public void acceptEntryRoot() {
+        RBMapNode<Integer, String> root = new RBMapNode<>(2, "b", true);
+        RBMapNode<Integer, String> left = new RBMapNode<>(1, "a", false);
+        left.setParent(root);
+        root.setLeft(left);
+        RBTreeMap<Integer, String> map = new RBTreeMap<>(root);
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(1));
+        assertEquals("b", map.pollLast().getValue());
+    }
+
+    private static TreeMap<Integer, String> toTreeMap(RBTreeMap<Integer, String> map) {
+        TreeMap<Integer, String> result = new TreeMap<>();
+        for (RBMapNode<Integer, String> e = map.firstEntry(); e != null; e = map.higher(e.getKey())) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package com.zkyne.tree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName: TreeTraversalTest
+ * @Description: 非递归遍历：与递归遍历的结果比较，退化成链表的深树不会栈溢出
+ * @Author: zhangkun01
+ * @Date: 2026/10/17 23:00
+ */
+public class TreeTraversalTest {
+
+    private static final int PRE = 1, IN = 2, POST = 3;
+
+    private static void recursive(BNode node, int type, List<Integer> out) {
+        if (node == null) {
+            return;
+        }
+        if (type == PRE) {
+            out.add(node.getKey());
+        }
+        recursive(node.getLeftChild(), type, out);
+        if (type == IN) {
+            out.add(node.getKey());
+        }
+        recursive(node.getRightChild(), type, out);
+        if (type == POST) {
+            out.add(node.getKey());
+        }
+    }
+
+    private static <T extends Comparable<T>> void recursive(RBNode<T> node, int type, List<T> out) {
+        if (node == null) {
+            return;
+        }
+        if (type == PRE) {
+            out.add(node.getKey());
+        }
+        recursive(node.getLeft(), type, out);
+        if (type == IN) {
+            out.add(node.getKey());
+        }
+        recursive(node.getRight(), type, out);
+        if (type == POST) {
+            out.add(node.getKey());
+        }
+    }
+
+    private static List<Integer> traverse(BinarySearchTree tree, int type) {
+        List<Integer> keys = new ArrayList<>();
+        tree.traverse(type, (key, data) -> keys.add(key));
+        return keys;
+    }
+
+    private static BinarySearchTree randomTree(boolean balanced) {
+        BinarySearchTree tree = new BinarySearchTree(balanced);
+        Random random = new Random(17);
+        for (int i = 0; i < 5_000; i++) {
+            tree.insert(random.nextInt(1_000), i);
+        }
+        return tree;
+    }
+
+    @Test
+    public void binarySearchTreeMatchesRecursion() {
+        for (boolean balanced : new boolean[]{false, true}) {
+            BinarySearchTree tree = randomTree(balanced);
+            for (int type : new int[]{PRE, IN, POST}) {
+                List<Integer> expected = new ArrayList<>();
+                recursive(tree.getRoot(), type, expected);
+                assertEquals(expected, traverse(tree, type));
+            }
+            List<Integer> inOrder = traverse(tree, IN);
+            List<Integer> keys = new ArrayList<>();
+            tree.forEach((key, data) -> keys.add(key));
+            assertEquals(inOrder, keys);
+            keys.clear();
+            for (BNode node : tree) {
+                keys.add(node.getKey());
+            }
+            assertEquals(inOrder, keys);
+        }
+    }
+
+    @Test
+    public void morrisRestoresTree() {
+        BinarySearchTree tree = randomTree(false);
+        List<Integer> preOrder = traverse(tree, PRE);
+        List<Integer> keys = new ArrayList<>();
+        tree.morrisTraverse((key, data) -> keys.add(key));
+        assertEquals(traverse(tree, IN), keys);
+        assertEquals(preOrder, traverse(tree, PRE));
+    }
+
+    @Test
+    public void morrisRestoresTreeWhenVisitorThrows() {
+        BinarySearchTree tree = new BinarySearchTree(true);
+        for (int i = 0; i < 100; i++) {
+            tree.insert(i, i);
+        }
+        List<Integer> preOrder = traverse(tree, PRE);
+        for (int stop : new int[]{0, 10, 31, 63, 99}) {
+            try {
+                tree.morrisTraverse((key, data) -> {
+                    if (key == stop) {
+                        throw new IllegalStateException();
+                    }
+                });
+                fail();
+            } catch (IllegalStateException expected) {
+                assertEquals(preOrder, traverse(tree, PRE));
+            }
+        }
+        int count = 0;
+        for (BNode ignored : tree) {
+            count++;
+        }
+        assertEquals(100, count);
+    }
+
+    @Test
+    public void binarySearchTreeRanges() {
+        BinarySearchTree tree = randomTree(true);
+        TreeSet<Integer> all = new TreeSet<>(traverse(tree, IN));
+        int[][] bounds = {{0, 1_000}, {100, 200}, {500, 500}, {990, Integer.MAX_VALUE}, {Integer.MIN_VALUE, 5}};
+        for (int[] b : bounds) {
+            List<Integer> expected = new ArrayList<>();
+            for (int key : traverse(tree, IN)) {
+                if (key >= b[0] && key < b[1]) {
+                    expected.add(key);
+                }
+            }
+            List<Integer> keys = new ArrayList<>();
+            tree.forEach(b[0], b[1], (key, data) -> keys.add(key));
+            assertEquals(expected, keys);
+            keys.clear();
+            for (Iterator<BNode> it = tree.rangeIterator(b[0], b[1]); it.hasNext(); ) {
+                keys.add(it.next().getKey());
+            }
+            assertEquals(expected, keys);
+            assertEquals(expected.isEmpty(), all.subSet(b[0], b[1]).isEmpty());
+        }
+    }
+
+    @Test
+    public void degenerateTreeDoesNotOverflow() {
+        //直接链接节点得到只有右子节点的链，逐个insert需要O(N^2)
+        int n = 1_000_000;
+        BNode root = new BNode(0, 0);
+        BNode last = root;
+        for (int i = 1; i < n; i++) {
+            BNode node = new BNode(i, i);
+            node.setParent(last);
+            last.setRightChild(node);
+            last = node;
+        }
+        BinarySearchTree tree = new BinarySearchTree(root);
+        for (int type : new int[]{PRE, IN, POST}) {
+            assertEquals(n, traverse(tree, type).size());
+        }
+        int[] count = new int[1];
+        tree.morrisTraverse((key, data) -> count[0]++);
+        assertEquals(n, count[0]);
+    }
+
+    @Test
+    public void redBlackTreeMatchesRecursion() {
+        RBinaryTree<Integer> tree = new RBinaryTree<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 5_000; i++) {
+            tree.insert(random.nextInt(1_000));
+        }
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> keys = new ArrayList<>();
+        recursive(tree.getRoot(), PRE, expected);
+        tree.preOrder(keys::add);
+        assertEquals(expected, keys);
+        expected.clear();
+        keys.clear();
+        recursive(tree.getRoot(), POST, expected);
+        tree.postOrder(keys::add);
+        assertEquals(expected, keys);
+        expected.clear();
+        keys.clear();
+        recursive(tree.getRoot(), IN, expected);
+        tree.inOrder(keys::add);
+        assertEquals(expected, keys);
+        keys.clear();
+        for (RBNode<Integer> node : tree) {
+            keys.add(node.getKey());
+        }
+        assertEquals(expected, keys);
+    }
+
+    @Test
+    public void redBlackTreeRangeIteratorRemove() {
+        RBinaryTree<Integer> tree = new RBinaryTree<>();
+        for (int i = 0; i < 100; i++) {
+            tree.insert(i % 50);
+        }
+        List<Integer> keys = new ArrayList<>();
+        for (Iterator<RBNode<Integer>> it = tree.rangeIterator(10, 20); it.hasNext(); ) {
+            keys.add(it.next().getKey());
+            it.remove();
+        }
+        assertEquals(20, keys.size());
+        assertEquals(10, (int) keys.get(0));
+        assertEquals(19, (int) keys.get(19));
+        assertEquals(80, tree.size());
+        for (RBNode<Integer> node : tree) {
+            assertFalse(node.getKey() >= 10 && node.getKey() < 20);
+        }
+    }
+}